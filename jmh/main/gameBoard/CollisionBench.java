@@ -0,0 +1,85 @@
+package main.gameBoard;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import main.tetrads.Shape;
+import main.tetrads.ShapeRegistry;
+import main.tetrads.Tetrad;
+
+/**
+ * Collision tests and drop distances of seeded shapes, rotations and
+ * positions against a mid-game field. About half the probes collide.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CollisionBench {
+	
+	private static final int PROBES = 256;
+	private static final int PIECES = 20;
+	
+	private GameBoard board;
+	private Shape[] shapes;
+	private int[] rotations;
+	private int[] xs;
+	private int[] ys;
+	private Tetrad[] tetrads;
+	
+	@Setup
+	public void setUp() {
+		board = Fixtures.midGame(PIECES, false);
+		SplittableRandom random = new SplittableRandom(Fixtures.SEED);
+		shapes = new Shape[PROBES];
+		rotations = new int[PROBES];
+		xs = new int[PROBES];
+		ys = new int[PROBES];
+		tetrads = new Tetrad[PROBES];
+		for (int i = 0; i < PROBES; i++) {
+			shapes[i] = ShapeRegistry.get(random.nextInt(ShapeRegistry.size()));
+			rotations[i] = random.nextInt(Shape.NUM_ROTATIONS);
+			xs[i] = random.nextInt(-1, board.getFieldWidth() - shapes[i].getSize() + 2);
+			ys[i] = random.nextInt(board.getFieldHeight() - shapes[i].getSize() + 1);
+			// drops start from the spawn rows, where the game starts them
+			tetrads[i] = new Tetrad(shapes[i], xs[i], 0);
+			for (int turns = 0; turns < rotations[i]; turns++) {
+				tetrads[i].rotateLeft();
+			}
+		}
+	}
+	
+	@Benchmark
+	@OperationsPerInvocation(PROBES)
+	public void checkValidState(Blackhole blackhole) {
+		for (int i = 0; i < PROBES; i++) {
+			blackhole.consume(board.checkValidState(shapes[i], rotations[i], xs[i], ys[i]));
+		}
+	}
+	
+	/**
+	 * Uncached drop distance, what the ghost and hard drop are placed by.
+	 */
+	@Benchmark
+	@OperationsPerInvocation(PROBES)
+	public void getPlacement(Blackhole blackhole) {
+		for (int i = 0; i < PROBES; i++) {
+			blackhole.consume(board.dropDistance(tetrads[i]));
+		}
+	}
+}
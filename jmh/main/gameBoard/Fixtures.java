@@ -0,0 +1,64 @@
+package main.gameBoard;
+
+import main.bench.RandomInput;
+import main.clock.FrameClock;
+
+/**
+ * Seeded boards for the benchmarks, built by playing {@link RandomInput}
+ * so the fields look like ones from real games.
+ */
+final class Fixtures {
+	
+	static final long SEED = 0;
+	/**
+	 * Games tried at most before giving up on reaching the piece count.
+	 */
+	private static final int MAX_SEEDS = 1000;
+	
+	private Fixtures() {
+	}
+	
+	/**
+	 * A running board after {@code pieces} tetrads were placed, with the
+	 * controlled tetrad dropped onto the stack if {@code landed}. Games that
+	 * end earlier are replayed with the next seed.
+	 */
+	static GameBoard midGame(int pieces, boolean landed) {
+		FrameClock clock = new FrameClock(GameBoard.FPS);
+		GameBoard board = new GameBoard(clock);
+		RandomInput inputs = new RandomInput(SEED);
+		for (long seed = SEED; ; seed++) {
+			if (seed == SEED + MAX_SEEDS) {
+				throw new IllegalStateException("No game out of " + MAX_SEEDS + " lasted " + pieces + " pieces");
+			}
+			board.reset(seed);
+			board.start();
+			while (board.isRuning() && board.getStats().getPieces() < pieces) {
+				clock.advance();
+				board.step(inputs.next(clock.getFrame()));
+			}
+			if (board.isRuning()) {
+				break;
+			}
+		}
+		if (board.getStats().getPieces() != pieces) {
+			throw new IllegalStateException("Placed " + board.getStats().getPieces() + " pieces instead of " + pieces);
+		}
+		if (landed) {
+			board.getControlling().fall(board.dropDistance(board.getControlling()));
+		}
+		return board;
+	}
+	
+	/**
+	 * Copies of {@code fixture} that a benchmark may change and restore.
+	 */
+	static GameBoard[] copies(GameBoard fixture, int count) {
+		GameBoard[] boards = new GameBoard[count];
+		for (int i = 0; i < count; i++) {
+			boards[i] = new GameBoard(fixture.getClock(), fixture.getFieldWidth(), fixture.getFieldHeight());
+			boards[i].copyState(fixture);
+		}
+		return boards;
+	}
+}
@@ -0,0 +1,72 @@
+package main.gameBoard;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Clearing 0 to 4 full rows at the bottom of a mid-game field, the four
+ * rows a placed tetrad can complete.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LineClearBench {
+	
+	/**
+	 * Boards cleared per invocation, so restoring them is not timed once
+	 * per clear.
+	 */
+	private static final int BATCH = 64;
+	private static final int PIECES = 20;
+	private static final byte TYPE = 1;
+	
+	@Param({"0", "1", "2", "3", "4"})
+	public int lines;
+	
+	private GameBoard fixture;
+	private GameBoard[] boards;
+	private int fromRow;
+	private int toRow;
+	
+	@Setup(Level.Trial)
+	public void setUp() {
+		fixture = Fixtures.midGame(PIECES, false);
+		toRow = fixture.getFieldHeight();
+		fromRow = toRow - 4;
+		for (int row = toRow - lines; row < toRow; row++) {
+			fixture.setRow(row, -1L, TYPE);
+		}
+		boards = Fixtures.copies(fixture, BATCH);
+	}
+	
+	@Setup(Level.Invocation)
+	public void restore() {
+		for (GameBoard board : boards) {
+			board.copyState(fixture);
+		}
+	}
+	
+	@Benchmark
+	@OperationsPerInvocation(BATCH)
+	public void checkTetris() {
+		for (GameBoard board : boards) {
+			board.checkTetris(fromRow, toRow);
+		}
+	}
+}
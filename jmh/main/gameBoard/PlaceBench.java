@@ -0,0 +1,68 @@
+package main.gameBoard;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Placing a landed tetrad, including the line check and the next spawn,
+ * and pushing a trash line under a mid-game field.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PlaceBench {
+	
+	/**
+	 * Boards changed per invocation, so restoring them is not timed once
+	 * per operation.
+	 */
+	private static final int BATCH = 64;
+	private static final int PIECES = 20;
+	
+	private GameBoard fixture;
+	private GameBoard[] boards;
+	
+	@Setup(Level.Trial)
+	public void setUp() {
+		fixture = Fixtures.midGame(PIECES, true);
+		boards = Fixtures.copies(fixture, BATCH);
+	}
+	
+	@Setup(Level.Invocation)
+	public void restore() {
+		for (GameBoard board : boards) {
+			board.copyState(fixture);
+		}
+	}
+	
+	@Benchmark
+	@OperationsPerInvocation(BATCH)
+	public void place() {
+		for (GameBoard board : boards) {
+			board.place();
+		}
+	}
+	
+	@Benchmark
+	@OperationsPerInvocation(BATCH)
+	public void addTrashLine() {
+		for (GameBoard board : boards) {
+			board.addTrashLine();
+		}
+	}
+}
@@ -0,0 +1,49 @@
+package main.highscore;
+
+import java.util.ArrayList;
+import java.util.Map.Entry;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Sorting high score lists of seeded scores, far larger than a real one.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class HighScoreBench {
+	
+	@Param({"10", "1000", "100000"})
+	public int size;
+	
+	private HighScore highScore;
+	
+	@Setup
+	public void setUp() {
+		highScore = new HighScore();
+		SplittableRandom random = new SplittableRandom(0);
+		for (int i = 0; i < size; i++) {
+			highScore.addScore("player" + i, random.nextLong(Long.MAX_VALUE));
+		}
+	}
+	
+	@Benchmark
+	public ArrayList<Entry<String, Long>> getHighScorer() {
+		return highScore.getHighScorer();
+	}
+}
@@ -0,0 +1,74 @@
+package main.tetrads;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Turning and creating tetrads, cycling through every shape of Tetrads.xml.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TetradBench {
+	
+	private Shape[] shapes;
+	private Tetrad[] tetrads;
+	private int next;
+	
+	@Setup
+	public void setUp() {
+		shapes = new Shape[ShapeRegistry.size()];
+		tetrads = new Tetrad[shapes.length];
+		for (int id = 0; id < shapes.length; id++) {
+			shapes[id] = ShapeRegistry.get(id);
+			tetrads[id] = new Tetrad(shapes[id], 0, 0);
+		}
+	}
+	
+	private int next() {
+		next = (next + 1 == shapes.length) ? 0 : next + 1;
+		return next;
+	}
+	
+	@Benchmark
+	public Tetrad rotateLeft() {
+		Tetrad tetrad = tetrads[next()];
+		tetrad.rotateLeft();
+		return tetrad;
+	}
+	
+	@Benchmark
+	public Tetrad rotateRight() {
+		Tetrad tetrad = tetrads[next()];
+		tetrad.rotateRight();
+		return tetrad;
+	}
+	
+	@Benchmark
+	public Tetrad create() {
+		return new Tetrad(shapes[next()], 3, 0);
+	}
+	
+	/**
+	 * What the board does instead of creating one since tetrads are recycled.
+	 */
+	@Benchmark
+	public Tetrad respawn() {
+		Tetrad tetrad = tetrads[next()];
+		tetrad.respawn(shapes[next], 3, 0);
+		return tetrad;
+	}
+}
@@ -0,0 +1,119 @@
+package main.bench;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.lang.management.ManagementFactory;
+
+import javax.swing.SwingUtilities;
+
+import com.sun.management.ThreadMXBean;
+
+import main.clock.FrameClock;
+import main.gameBoard.GameBoard;
+import main.gui.FieldGUI;
+
+/**
+ * Plays seeded games with random inputs and measures the bytes the
+ * playing thread allocates per tick and per painted frame. Exits with
+ * status 1 if any single tick or frame goes over its budget, so a build
+ * can fail on it.
+ *
+ * Arguments: games, tick budget and frame budget in bytes, defaulting to
+ * 20, 0 and 0. Needs Tetrads.xml on the class path and a headless toolkit
+ * or a display.
+ */
+public class AllocationBench {
+	
+	private static final int WARM_UP_GAMES = 10;
+	/**
+	 * Frames between two painted ones, handing every frame to the event
+	 * dispatch thread would make the run slow.
+	 */
+	private static final int PAINT_EVERY = 8;
+	private static final int FIELD_WIDTH = 300;
+	private static final int FIELD_HEIGHT = 600;
+	
+	private final ThreadMXBean threads;
+	private final long thread;
+	private final FrameClock clock;
+	private final GameBoard board;
+	private final FieldGUI field;
+	private final Graphics2D graphics;
+	private final RandomInput inputs;
+	
+	private long ticks;
+	private long tickBytes;
+	private long maxTickBytes;
+	private long frames;
+	private long frameBytes;
+	private long maxFrameBytes;
+	
+	private AllocationBench() {
+		threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+		threads.setThreadAllocatedMemoryEnabled(true);
+		thread = Thread.currentThread().getId();
+		clock = new FrameClock(GameBoard.FPS);
+		board = new GameBoard(clock);
+		board.setSeed(0);
+		field = new FieldGUI(board);
+		field.setSize(FIELD_WIDTH, FIELD_HEIGHT);
+		graphics = new BufferedImage(FIELD_WIDTH, FIELD_HEIGHT, BufferedImage.TYPE_INT_RGB).createGraphics();
+		inputs = new RandomInput(0);
+	}
+	
+	/**
+	 * Plays one game, measuring every tick and paint if {@code measure}.
+	 */
+	private void play(boolean measure) throws Exception {
+		board.reset();
+		board.start();
+		while (board.isRuning()) {
+			clock.advance();
+			int pressed = inputs.next(clock.getFrame());
+			long before = threads.getThreadAllocatedBytes(thread);
+			board.step(pressed);
+			long bytes = threads.getThreadAllocatedBytes(thread) - before;
+			if (measure) {
+				ticks++;
+				tickBytes += bytes;
+				maxTickBytes = Math.max(maxTickBytes, bytes);
+			}
+			if (clock.getFrame() % PAINT_EVERY == 0) {
+				field.update();
+				SwingUtilities.invokeAndWait(() -> { });
+				before = threads.getThreadAllocatedBytes(thread);
+				field.paint(graphics);
+				long painted = threads.getThreadAllocatedBytes(thread) - before;
+				if (measure) {
+					frames++;
+					frameBytes += painted;
+					maxFrameBytes = Math.max(maxFrameBytes, painted);
+				}
+			}
+		}
+	}
+	
+	public static void main(String[] args) throws Exception {
+		int games = (args.length > 0) ? Integer.parseInt(args[0]) : 20;
+		long tickBudget = (args.length > 1) ? Long.parseLong(args[1]) : 0;
+		long frameBudget = (args.length > 2) ? Long.parseLong(args[2]) : 0;
+		AllocationBench bench = new AllocationBench();
+		for (int i = 0; i < WARM_UP_GAMES; i++) {
+			bench.play(false);
+		}
+		for (int i = 0; i < games; i++) {
+			bench.play(true);
+		}
+		double perTick = (double) bench.tickBytes / bench.ticks;
+		double perFrame = (double) bench.frameBytes / bench.frames;
+		System.out.printf("tick:  %.2f bytes on average, %d at most over %d ticks (budget %d)%n",
+				perTick, bench.maxTickBytes, bench.ticks, tickBudget);
+		System.out.printf("frame: %.2f bytes on average, %d at most over %d frames (budget %d)%n",
+				perFrame, bench.maxFrameBytes, bench.frames, frameBudget);
+		boolean failed = bench.maxTickBytes > tickBudget || bench.maxFrameBytes > frameBudget;
+		if (failed) {
+			System.out.println("Allocation budget exceeded");
+		}
+		System.exit(failed ? 1 : 0);
+	}
+}
@@ -0,0 +1,236 @@
+package main.bench;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+import org.ini4j.Wini;
+
+import main.clock.FrameClock;
+import main.gameBoard.BoardGroup;
+import main.gameBoard.GameBoard;
+import main.gameBoard.Input;
+import main.stats.Histogram;
+import main.tetrads.Tetrad;
+
+/**
+ * Plays whole seeded games on any number of boards without a display and
+ * reports games and ticks per second and the tail of the tick duration.
+ * The report is written as an ini file, and if a baseline report is given
+ * the run fails with status 1 when it is slower in any of them by more
+ * than the tolerance.
+ *
+ * Arguments: games, boards, input ("random" or "script"), report file,
+ * baseline file and tolerance in percent, defaulting to 1000, 1, random,
+ * macro.ini, none and 10. Needs Tetrads.xml on the class path. This is
+ * the way to play the game without a display.
+ */
+public class MacroBench {
+	
+	private static final long SEED = 0;
+	private static final int DEFAULT_TOLERANCE = 10;
+	private static final String SECTION = "macro";
+	/**
+	 * Frames each step of a script is held for.
+	 */
+	private static final int SCRIPT_FRAMES = 4;
+	/**
+	 * Buttons pressed for every new tetrad, taking turns. Nothing is pressed
+	 * after a script ended, so the lock delay runs out.
+	 */
+	private static final int[][] SCRIPTS = {
+		{Input.TURN_LEFT, 0, Input.LEFT, 0, Input.LEFT, 0, Input.HARD_DROP},
+		{Input.RIGHT, 0, Input.RIGHT, 0, Input.RIGHT, 0, Input.HARD_DROP},
+		{Input.TURN_RIGHT, 0, Input.SOFT_DROP, Input.SOFT_DROP, 0, Input.HARD_DROP},
+		{Input.LEFT, 0, Input.LEFT, 0, Input.LEFT, 0, Input.LEFT, 0, Input.HARD_DROP},
+		{Input.HOLD},
+		{Input.TURN_LEFT, 0, Input.TURN_LEFT, 0, Input.RIGHT, 0, Input.HARD_DROP}
+	};
+	
+	private final FrameClock clock;
+	private final BoardGroup group;
+	private final boolean scripted;
+	private final SplittableRandom seeds;
+	private final RandomInput[] randoms;
+	private final int[] inputs;
+	private final boolean[] playing;
+	private final Tetrad[] scripting;
+	private final int[] scripts;
+	private final long[] scriptStart;
+	private final Histogram tickTimes;
+	
+	private long games;
+	private long ticks;
+	private long pieces;
+	private long lines;
+	private long nanos;
+	
+	private MacroBench(int boards, boolean scripted) {
+		clock = new FrameClock(GameBoard.FPS);
+		group = new BoardGroup(clock, boards, GameBoard.DEFAULT_WIDTH, GameBoard.DEFAULT_HEIGHT);
+		this.scripted = scripted;
+		seeds = new SplittableRandom(SEED);
+		randoms = new RandomInput[boards];
+		for (int i = 0; i < boards; i++) {
+			randoms[i] = new RandomInput(seeds.nextLong());
+		}
+		inputs = new int[boards];
+		playing = new boolean[boards];
+		scripting = new Tetrad[boards];
+		scripts = new int[boards];
+		scriptStart = new long[boards];
+		tickTimes = new Histogram();
+	}
+	
+	/**
+	 * Plays {@code count} games spread over the boards, each board starting
+	 * the next game as soon as its last one ended.
+	 */
+	private void play(int count, boolean measure) {
+		int started = 0;
+		int ended = 0;
+		for (int i = 0; i < group.size() && started < count; i++, started++) {
+			start(i);
+		}
+		long begin = System.nanoTime();
+		while (ended < count) {
+			clock.advance();
+			for (int i = 0; i < inputs.length; i++) {
+				inputs[i] = nextInput(i);
+			}
+			long start = System.nanoTime();
+			group.step(inputs);
+			if (measure) {
+				tickTimes.record(System.nanoTime() - start);
+				ticks++;
+			}
+			for (int i = 0; i < group.size(); i++) {
+				GameBoard board = group.get(i);
+				if (playing[i] && !board.isRuning()) {
+					playing[i] = false;
+					ended++;
+					if (measure) {
+						pieces += board.getStats().getPieces();
+						lines += board.getStats().getLines();
+					}
+					if (started < count) {
+						start(i);
+						started++;
+					}
+				}
+			}
+		}
+		if (measure) {
+			games += count;
+			nanos += System.nanoTime() - begin;
+		}
+	}
+	
+	private void start(int board) {
+		group.get(board).reset(seeds.nextLong());
+		group.get(board).start();
+		playing[board] = true;
+		// boards start on different scripts so they do not play the same
+		scripts[board] = board % SCRIPTS.length;
+	}
+	
+	private int nextInput(int board) {
+		if (scripted) {
+			Tetrad controlling = group.get(board).getControlling();
+			if (controlling != scripting[board]) {
+				scripting[board] = controlling;
+				scripts[board] = (scripts[board] + 1) % SCRIPTS.length;
+				scriptStart[board] = clock.getFrame();
+			}
+			int[] script = SCRIPTS[scripts[board]];
+			int step = (int) ((clock.getFrame() - scriptStart[board]) / SCRIPT_FRAMES);
+			return (step < script.length) ? script[step] : 0;
+		}
+		return randoms[board].next(clock.getFrame());
+	}
+	
+	private Wini report() {
+		Wini ini = new Wini();
+		double seconds = nanos / 1e9;
+		ini.put(SECTION, "boards", group.size());
+		ini.put(SECTION, "input", scripted ? "script" : "random");
+		ini.put(SECTION, "games", games);
+		ini.put(SECTION, "ticks", ticks);
+		ini.put(SECTION, "pieces", pieces);
+		ini.put(SECTION, "lines", lines);
+		ini.put(SECTION, "seconds", String.format(Locale.ROOT, "%.3f", seconds));
+		ini.put(SECTION, "games_per_second", String.format(Locale.ROOT, "%.1f", games / seconds));
+		ini.put(SECTION, "ticks_per_second", String.format(Locale.ROOT, "%.0f", ticks / seconds));
+		ini.put(SECTION, "tick_p50_ns", tickTimes.getP50());
+		ini.put(SECTION, "tick_p99_ns", tickTimes.getP99());
+		ini.put(SECTION, "tick_p999_ns", tickTimes.getP999());
+		ini.put(SECTION, "tick_max_ns", tickTimes.getMax());
+		return ini;
+	}
+	
+	/**
+	 * Prints every value next to the baseline's and returns false if a
+	 * rate dropped or a percentile grew by more than the tolerance.
+	 */
+	private static boolean compare(Wini report, Wini baseline, double tolerance) {
+		boolean passed = true;
+		for (String key : new String[] {"boards", "input", "games"}) {
+			if (!report.get(SECTION, key).equals(baseline.get(SECTION, key))) {
+				throw new IllegalArgumentException("The baseline was run with other " + key + ": " + baseline.get(SECTION, key));
+			}
+		}
+		for (String key : new String[] {"pieces", "lines"}) {
+			if (!report.get(SECTION, key).equals(baseline.get(SECTION, key))) {
+				System.out.println("Played other games than the baseline, the " + key + " differ");
+			}
+		}
+		System.out.printf("%-17s %12s %12s %8s%n", "", "baseline", "run", "change");
+		for (String key : new String[] {"games_per_second", "ticks_per_second"}) {
+			passed &= compare(report, baseline, key, tolerance, true);
+		}
+		for (String key : new String[] {"tick_p50_ns", "tick_p99_ns", "tick_p999_ns"}) {
+			passed &= compare(report, baseline, key, tolerance, false);
+		}
+		return passed;
+	}
+	
+	private static boolean compare(Wini report, Wini baseline, String key, double tolerance, boolean higherIsBetter) {
+		double value = report.get(SECTION, key, double.class);
+		double base = baseline.get(SECTION, key, double.class);
+		double change = (base == 0) ? 0 : (value - base) / base;
+		boolean passed = (higherIsBetter) ? change >= -tolerance : change <= tolerance;
+		System.out.printf("%-17s %12.1f %12.1f %+7.1f%%%s%n", key, base, value, change * 100, passed ? "" : "  REGRESSED");
+		return passed;
+	}
+	
+	public static void main(String[] args) throws IOException {
+		int games = (args.length > 0) ? Integer.parseInt(args[0]) : 1000;
+		int boards = (args.length > 1) ? Integer.parseInt(args[1]) : 1;
+		boolean scripted = (args.length > 2) && args[2].equals("script");
+		File reportFile = new File((args.length > 3) ? args[3] : "macro.ini");
+		File baselineFile = (args.length > 4) ? new File(args[4]) : null;
+		int tolerance = (args.length > 5) ? Integer.parseInt(args[5]) : DEFAULT_TOLERANCE;
+		if (games < 1 || boards < 1) {
+			throw new IllegalArgumentException("Invalid run of " + games + " games on " + boards + " boards");
+		}
+		MacroBench bench = new MacroBench(boards, scripted);
+		bench.play(Math.max(boards, games / 10), false);
+		bench.play(games, true);
+		Wini report = bench.report();
+		if (reportFile.getParentFile() != null) {
+			reportFile.getParentFile().mkdirs();
+		}
+		report.store(reportFile);
+		for (String key : report.get(SECTION).keySet()) {
+			System.out.println(key + " = " + report.get(SECTION, key));
+		}
+		if (baselineFile != null) {
+			boolean passed = compare(report, new Wini(baselineFile), tolerance / 100.0);
+			if (!passed) {
+				System.out.println("Slower than the baseline by more than " + tolerance + "%");
+			}
+			System.exit(passed ? 0 : 1);
+		}
+	}
+}
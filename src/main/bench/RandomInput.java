@@ -0,0 +1,31 @@
+package main.bench;
+
+import java.util.SplittableRandom;
+
+import main.gameBoard.Input;
+
+/**
+ * Seeded input of a headless game: one random button pressed every few
+ * frames, often enough that moves keep resetting the lock delay now and
+ * then. Used by every benchmark that plays with random input.
+ */
+public class RandomInput {
+	
+	/**
+	 * Frames between two presses.
+	 */
+	public static final int PRESS_EVERY = 8;
+	
+	private final SplittableRandom random;
+	
+	public RandomInput(long seed) {
+		random = new SplittableRandom(seed);
+	}
+	
+	/**
+	 * The {@link Input} bits held during {@code frame}.
+	 */
+	public int next(long frame) {
+		return (frame % PRESS_EVERY == 0) ? 1 << random.nextInt(Input.NUM_INPUTS) : 0;
+	}
+}
@@ -0,0 +1,13 @@
+package main.clock;
+
+/**
+ * Source of time for everything that drives or times a game, so a game can
+ * be run against the wall clock or simulated faster than real time.
+ */
+public interface Clock {
+	
+	/**
+	 * Current time in nanoseconds, only meaningful relative to other readings.
+	 */
+	public long nanoTime();
+}
@@ -0,0 +1,32 @@
+package main.clock;
+
+/**
+ * Clock that only moves when told to, one frame at a time. Used to run games
+ * without a display as fast as the machine allows.
+ */
+public class FrameClock implements Clock {
+	
+	private final int fps;
+	private long frame;
+	
+	public FrameClock(int fps) {
+		if (fps < 1) {
+			throw new IllegalArgumentException("Invalid frame rate " + fps);
+		}
+		this.fps = fps;
+		frame = 0;
+	}
+	
+	public void advance() {
+		frame++;
+	}
+	
+	public long getFrame() {
+		return frame;
+	}
+	
+	@Override
+	public long nanoTime() {
+		return frame * 1000000000L / fps;
+	}
+}
@@ -0,0 +1,9 @@
+package main.clock;
+
+public class SystemClock implements Clock {
+	
+	@Override
+	public long nanoTime() {
+		return System.nanoTime();
+	}
+}
@@ -0,0 +1,148 @@
+package main.clock;
+
+/**
+ * Hashed timing wheel of deadlines counted in frames. Timers live in
+ * preallocated int arrays and are linked into one list per slot, so
+ * scheduling and cancelling take constant time and allocate nothing. A
+ * deadline further away than the number of slots stays in its slot for
+ * another turn of the wheel.
+ *
+ * Every timer carries an owner and an event number for the caller to
+ * dispatch on. A timer handle is invalid once it has been cancelled or
+ * returned by {@link #poll()}.
+ */
+public class TimingWheel {
+	
+	public static final int NONE = -1;
+	
+	private final int mask;
+	private final int[] heads;
+	private final int[] tails;
+	private final int[] next;
+	private final int[] prev;
+	private final long[] deadlines;
+	private final int[] owners;
+	private final int[] events;
+	private int free;
+	private long frame;
+	
+	/**
+	 * @param slots a power of two, ideally larger than most delays
+	 * @param capacity number of timers that can be scheduled at once
+	 */
+	public TimingWheel(int slots, int capacity) {
+		if (slots < 1 || Integer.bitCount(slots) != 1) {
+			throw new IllegalArgumentException("Slots must be a power of two: " + slots);
+		}
+		mask = slots - 1;
+		heads = new int[slots];
+		tails = new int[slots];
+		for (int slot = 0; slot < slots; slot++) {
+			heads[slot] = NONE;
+			tails[slot] = NONE;
+		}
+		next = new int[capacity];
+		prev = new int[capacity];
+		deadlines = new long[capacity];
+		owners = new int[capacity];
+		events = new int[capacity];
+		for (int timer = 0; timer < capacity; timer++) {
+			next[timer] = (timer + 1 < capacity) ? timer + 1 : NONE;
+		}
+		free = (capacity > 0) ? 0 : NONE;
+		frame = 0;
+	}
+	
+	public long getFrame() {
+		return frame;
+	}
+	
+	/**
+	 * Moves on to the next frame. Timers due by then are returned by
+	 * {@link #poll()}.
+	 */
+	public void advance() {
+		frame++;
+	}
+	
+	/**
+	 * Schedules a timer for frame {@code deadline}, or the current frame if
+	 * that has already passed.
+	 *
+	 * @return handle of the timer
+	 */
+	public int schedule(long deadline, int owner, int event) {
+		if (free == NONE) {
+			throw new IllegalStateException("All " + next.length + " timers are in use");
+		}
+		int timer = free;
+		free = next[timer];
+		deadlines[timer] = Math.max(deadline, frame);
+		owners[timer] = owner;
+		events[timer] = event;
+		int slot = (int) deadlines[timer] & mask;
+		next[timer] = NONE;
+		prev[timer] = tails[slot];
+		if (tails[slot] == NONE) {
+			heads[slot] = timer;
+		} else {
+			next[tails[slot]] = timer;
+		}
+		tails[slot] = timer;
+		return timer;
+	}
+	
+	/**
+	 * Cancels a scheduled timer, does nothing for {@code NONE}.
+	 */
+	public void cancel(int timer) {
+		if (timer != NONE) {
+			unlink(timer);
+		}
+	}
+	
+	/**
+	 * Takes a timer that is due, or returns {@code NONE} once there is none
+	 * left for the current frame. Timers are returned in the order they were
+	 * scheduled, including ones scheduled for this frame while polling. The
+	 * owner and event of the returned timer stay readable until the next
+	 * timer is scheduled.
+	 */
+	public int poll() {
+		for (int timer = heads[(int) frame & mask]; timer != NONE; timer = next[timer]) {
+			if (deadlines[timer] <= frame) {
+				unlink(timer);
+				return timer;
+			}
+		}
+		return NONE;
+	}
+	
+	public long getDeadline(int timer) {
+		return deadlines[timer];
+	}
+	
+	public int getOwner(int timer) {
+		return owners[timer];
+	}
+	
+	public int getEvent(int timer) {
+		return events[timer];
+	}
+	
+	private void unlink(int timer) {
+		int slot = (int) deadlines[timer] & mask;
+		if (prev[timer] == NONE) {
+			heads[slot] = next[timer];
+		} else {
+			next[prev[timer]] = next[timer];
+		}
+		if (next[timer] == NONE) {
+			tails[slot] = prev[timer];
+		} else {
+			prev[next[timer]] = prev[timer];
+		}
+		next[timer] = free;
+		free = timer;
+	}
+}
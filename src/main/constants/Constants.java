@@ -1,60 +1,83 @@
 package main.constants;
 
-import java.util.HashMap;
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Map;
+
+import org.ini4j.Ini;
+import org.ini4j.Wini;
 
 public class Constants {
-	public static final HashMap<Integer, Integer> SINGLE_PLAYER_GRAVITY;
+	/**
+	 * Gravity of every level in 1/256 G, 1 G letting a tetrad fall 20 rows a
+	 * second. Levels past the end keep the last value. Both curves can be
+	 * overridden in gravity.ini.
+	 */
+	public static final int[] SINGLE_PLAYER_GRAVITY;
+	public static final int[] MULTIPLAYER_GRAVITY;
 	static {
-		SINGLE_PLAYER_GRAVITY = new HashMap<Integer, Integer>(); //all numbers are divided by 256
-		SINGLE_PLAYER_GRAVITY.put(0, 4);
-		SINGLE_PLAYER_GRAVITY.put(30, 6);
-		SINGLE_PLAYER_GRAVITY.put(35, 8);
-		SINGLE_PLAYER_GRAVITY.put(40, 10);
-		SINGLE_PLAYER_GRAVITY.put(50, 12);
-		SINGLE_PLAYER_GRAVITY.put(60, 16);
-		SINGLE_PLAYER_GRAVITY.put(70, 32);
-		SINGLE_PLAYER_GRAVITY.put(80, 48);
-		SINGLE_PLAYER_GRAVITY.put(90, 64);
-		SINGLE_PLAYER_GRAVITY.put(100, 80);
-		SINGLE_PLAYER_GRAVITY.put(120, 96);
-		SINGLE_PLAYER_GRAVITY.put(140, 112);
-		SINGLE_PLAYER_GRAVITY.put(160, 128);
-		SINGLE_PLAYER_GRAVITY.put(170, 144);
-		SINGLE_PLAYER_GRAVITY.put(200, 4);
-		SINGLE_PLAYER_GRAVITY.put(220, 32);
-		SINGLE_PLAYER_GRAVITY.put(230, 64);
-		SINGLE_PLAYER_GRAVITY.put(233, 96);
-		SINGLE_PLAYER_GRAVITY.put(236, 128);
-		SINGLE_PLAYER_GRAVITY.put(239, 160);
-		SINGLE_PLAYER_GRAVITY.put(243, 192);
-		SINGLE_PLAYER_GRAVITY.put(247, 224);
-		SINGLE_PLAYER_GRAVITY.put(251, 256); //1G
-		SINGLE_PLAYER_GRAVITY.put(300, 512); //2G
-		SINGLE_PLAYER_GRAVITY.put(330, 768); //3G
-		SINGLE_PLAYER_GRAVITY.put(360, 1024); //4G
-		SINGLE_PLAYER_GRAVITY.put(400, 1280); //5G
-		SINGLE_PLAYER_GRAVITY.put(420, 1024); //4G
-		SINGLE_PLAYER_GRAVITY.put(450, 768); //3G
-		SINGLE_PLAYER_GRAVITY.put(500, 5120); //20G
+		Wini ini = null;
+		File file = new File("gravity.ini");
+		if (file.exists()) {
+			try {
+				ini = new Wini(file);
+			} catch (IOException e) {
+				e.printStackTrace();
+			}
+		}
+		SINGLE_PLAYER_GRAVITY = loadCurve(ini, "single_player", new int[][] {
+			{0, 4}, {30, 6}, {35, 8}, {40, 10}, {50, 12}, {60, 16}, {70, 32}, {80, 48}, {90, 64},
+			{100, 80}, {120, 96}, {140, 112}, {160, 128}, {170, 144}, {200, 4}, {220, 32}, {230, 64},
+			{233, 96}, {236, 128}, {239, 160}, {243, 192}, {247, 224},
+			{251, 256}, //1G
+			{300, 512}, //2G
+			{330, 768}, //3G
+			{360, 1024}, //4G
+			{400, 1280}, //5G
+			{420, 1024}, //4G
+			{450, 768}, //3G
+			{500, 5120} //20G
+		});
+		MULTIPLAYER_GRAVITY = loadCurve(ini, "multiplayer", new int[][] {
+			{0, 5}, {10, 6}, {20, 7}, {30, 8}, {40, 9}, {50, 11}, {60, 14}, {70, 20}, {80, 32},
+			{90, 43}, {100, 51}, {130, 64}, {160, 85}, {180, 128}, {290, 256}
+		});
 	}
 	
-	public static final HashMap<Integer, Integer> MULTIPLAYER_GRAVITY;
-	static {
-		MULTIPLAYER_GRAVITY = new HashMap<Integer, Integer>();
-		MULTIPLAYER_GRAVITY.put(0, 48);
-		MULTIPLAYER_GRAVITY.put(10, 43);
-		MULTIPLAYER_GRAVITY.put(20, 38);
-		MULTIPLAYER_GRAVITY.put(30, 33);
-		MULTIPLAYER_GRAVITY.put(40, 28);
-		MULTIPLAYER_GRAVITY.put(50, 23);
-		MULTIPLAYER_GRAVITY.put(60, 18);
-		MULTIPLAYER_GRAVITY.put(70, 13);
-		MULTIPLAYER_GRAVITY.put(80, 8);
-		MULTIPLAYER_GRAVITY.put(90, 6);
-		MULTIPLAYER_GRAVITY.put(100, 5);
-		MULTIPLAYER_GRAVITY.put(130, 4);
-		MULTIPLAYER_GRAVITY.put(160, 3);
-		MULTIPLAYER_GRAVITY.put(180, 2);
-		MULTIPLAYER_GRAVITY.put(290, 1);
+	/**
+	 * Gravity of {@code level} on a curve.
+	 */
+	public static int getGravity(int[] curve, int level) {
+		return curve[Math.min(level, curve.length - 1)];
+	}
+	
+	/**
+	 * Expands (level, gravity) pairs, from the ini section if it exists,
+	 * into one entry per level.
+	 */
+	private static int[] loadCurve(Wini ini, String name, int[][] defaults) {
+		int[][] points = defaults;
+		Ini.Section section = (ini != null) ? ini.get(name) : null;
+		if (section != null && !section.isEmpty()) {
+			points = new int[section.size()][];
+			int i = 0;
+			for (Map.Entry<String, String> entry : section.entrySet()) {
+				points[i++] = new int[] {Integer.parseInt(entry.getKey().trim()), Integer.parseInt(entry.getValue().trim())};
+			}
+			Arrays.sort(points, (a, b) -> Integer.compare(a[0], b[0]));
+		}
+		if (points[0][0] != 0) {
+			throw new IllegalArgumentException("Gravity curve '" + name + "' must start at level 0");
+		}
+		int[] curve = new int[points[points.length - 1][0] + 1];
+		for (int i = 0; i < points.length; i++) {
+			if (points[i][1] <= 0) {
+				throw new IllegalArgumentException("Gravity curve '" + name + "' has no positive gravity at level " + points[i][0]);
+			}
+			int end = (i + 1 < points.length) ? points[i + 1][0] : curve.length;
+			Arrays.fill(curve, points[i][0], end, points[i][1]);
+		}
+		return curve;
 	}
 }
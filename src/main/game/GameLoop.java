@@ -0,0 +1,169 @@
+package main.game;
+
+import java.util.concurrent.locks.LockSupport;
+
+import main.clock.Clock;
+import main.stats.Histogram;
+import main.stats.Metrics;
+import main.stats.TickEvent;
+
+/**
+ * Runs a frame task at a fixed rate on its own thread. Time is kept with an
+ * accumulator so frames missed while the machine was busy are caught up, and
+ * the thread sleeps until the next frame is due instead of spinning.
+ *
+ * The clock has to advance on its own, like {@link main.clock.SystemClock}.
+ */
+public class GameLoop {
+	
+	/**
+	 * Time before a deadline spent spinning, parking is not precise enough.
+	 */
+	private static final long SPIN_NANOS = 1000000;
+	/**
+	 * Frames caught up at most after a stall, older ones are dropped.
+	 */
+	private static final int MAX_CATCH_UP = 5;
+	
+	private final Clock clock;
+	private final long period;
+	private volatile Thread thread;
+	private final Histogram frameTime;
+	private final Histogram tickDuration;
+	private final Histogram tickLateness;
+	
+	public GameLoop(Clock clock, int fps) {
+		if (fps < 1) {
+			throw new IllegalArgumentException("Invalid frame rate " + fps);
+		}
+		this.clock = clock;
+		period = 1000000000L / fps;
+		frameTime = new Histogram();
+		tickDuration = new Histogram();
+		tickLateness = new Histogram();
+	}
+	
+	/**
+	 * Starts calling {@code frame} once per frame on a new thread.
+	 */
+	public synchronized void start(Runnable frame) {
+		if (thread != null) {
+			throw new IllegalStateException("Game loop is already running");
+		}
+		Thread loop = new Thread(() -> run(frame), "game-loop");
+		thread = loop;
+		loop.start();
+	}
+	
+	/**
+	 * Stops the loop after the current frame. Waits for the thread to end
+	 * unless called from the frame task itself.
+	 */
+	public void stop() {
+		Thread loop;
+		synchronized (this) {
+			loop = thread;
+			thread = null;
+		}
+		if (loop == null || loop == Thread.currentThread()) {
+			return;
+		}
+		LockSupport.unpark(loop);
+		boolean interrupted = false;
+		while (loop.isAlive()) {
+			try {
+				loop.join();
+			} catch (InterruptedException e) {
+				interrupted = true;
+			}
+		}
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+	}
+	
+	/**
+	 * Stops the loop and starts it again with {@code frame}. Not synchronized,
+	 * the old thread is joined without holding the lock a frame task needs
+	 * to stop the loop.
+	 */
+	public void restart(Runnable frame) {
+		stop();
+		start(frame);
+	}
+	
+	public boolean isRunning() {
+		return thread != null;
+	}
+	
+	private boolean isCurrent() {
+		return thread == Thread.currentThread();
+	}
+	
+	private void run(Runnable frame) {
+		long previous = clock.nanoTime();
+		long lastStart = previous;
+		long lag = 0;
+		while (isCurrent()) {
+			long now = clock.nanoTime();
+			lag = Math.min(lag + now - previous, MAX_CATCH_UP * period);
+			previous = now;
+			for (; lag >= period && isCurrent(); lag -= period) {
+				TickEvent event = new TickEvent();
+				event.begin();
+				long start = clock.nanoTime();
+				// the frame became due when the lag reached one period
+				long lateness = start - (now - lag + period);
+				tickLateness.record(lateness);
+				frameTime.record(start - lastStart);
+				lastStart = start;
+				frame.run();
+				tickDuration.record(clock.nanoTime() - start);
+				if (event.shouldCommit()) {
+					event.lateness = lateness;
+					event.commit();
+				}
+			}
+			waitUntil(now + period - lag);
+		}
+	}
+	
+	/**
+	 * Time between the starts of two frames, in nanoseconds.
+	 */
+	public Histogram getFrameTime() {
+		return frameTime;
+	}
+	
+	/**
+	 * Time the frame task takes, in nanoseconds.
+	 */
+	public Histogram getTickDuration() {
+		return tickDuration;
+	}
+	
+	/**
+	 * Time a frame starts after it was due, in nanoseconds.
+	 */
+	public Histogram getTickLateness() {
+		return tickLateness;
+	}
+	
+	/**
+	 * Registers the histograms of the loop as MBeans.
+	 */
+	public void register(String name) {
+		Metrics.register("Histogram", name + ".frameTime", frameTime);
+		Metrics.register("Histogram", name + ".tickDuration", tickDuration);
+		Metrics.register("Histogram", name + ".tickLateness", tickLateness);
+	}
+	
+	private void waitUntil(long deadline) {
+		for (long left = deadline - clock.nanoTime(); left > SPIN_NANOS && isCurrent(); left = deadline - clock.nanoTime()) {
+			LockSupport.parkNanos(left - SPIN_NANOS);
+		}
+		while (deadline - clock.nanoTime() > 0 && isCurrent()) {
+			Thread.yield();
+		}
+	}
+}
@@ -2,25 +2,24 @@ package main.game;
 
 import java.io.File;
 import java.io.IOException;
-import java.util.Timer;
 
 import javax.swing.JFrame;
 
 import org.ini4j.InvalidFileFormatException;
 import org.ini4j.Wini;
 
+import main.clock.SystemClock;
 import main.gameBoard.GameBoard;
 import main.gui.StartMenu;
 import main.highscore.HighScore;
 import main.keyEvents.Controlls;
+import main.randomizer.RandomizerType;
 import main.soundPlayer.SoundPlayer;
+import main.tetrads.RotationSystem;
 
 public class Main {
 	
 	public static void main(String[] args) {
-		Timer t = new Timer();
-		GameBoard player1 = new GameBoard(t);
-		GameBoard player2 = new GameBoard(t);
 		JFrame root = new JFrame("Tetris");
 		Wini ini = null;
 		try {
@@ -30,10 +29,49 @@ public class Main {
 		} catch (IOException e) {
 			e.printStackTrace();
 		}
+		int width = ini.get("game", "width", int.class);
+		int height = ini.get("game", "height", int.class);
+		width = (width > 0) ? width : GameBoard.DEFAULT_WIDTH;
+		height = (height > 0) ? height : GameBoard.DEFAULT_HEIGHT;
+		SystemClock clock = new SystemClock();
+		GameBoard player1 = new GameBoard(clock, width, height);
+		GameBoard player2 = new GameBoard(clock, width, height);
+		String rotation = ini.get("game", "rotation_system");
+		if (rotation != null) {
+			RotationSystem system = RotationSystem.valueOf(rotation.toUpperCase());
+			player1.setRotationSystem(system);
+			player2.setRotationSystem(system);
+		}
+		String randomizer = ini.get("game", "randomizer");
+		if (randomizer != null) {
+			RandomizerType type = RandomizerType.valueOf(randomizer.toUpperCase());
+			player1.setRandomizer(type);
+			player2.setRandomizer(type);
+		}
+		int preview = ini.get("game", "preview", int.class);
+		if (preview > 0) {
+			player1.setPreviewSize(preview);
+			player2.setPreviewSize(preview);
+		}
+		int lockDelay = getInt(ini, "timing", "lock_delay", GameBoard.DEFAULT_LOCK_DELAY);
+		int das = getInt(ini, "timing", "das", GameBoard.DEFAULT_DAS);
+		int arr = getInt(ini, "timing", "arr", GameBoard.DEFAULT_ARR);
+		player1.setTiming(lockDelay, das, arr);
+		player2.setTiming(lockDelay, das, arr);
+		String seed = ini.get("game", "seed");
+		if (seed != null && !seed.isEmpty()) {
+			// both players get the same tetrads
+			player1.setSeed(Long.parseLong(seed));
+			player2.setSeed(Long.parseLong(seed));
+		}
 		root.setFocusable(true);
-		root.addKeyListener(new Controlls(player1, t, ini.get("pl1_controls")));
-		root.addKeyListener(new Controlls(player2, t, ini.get("pl2_controls")));
-		StartMenu menu = new StartMenu(player1, player2, root, HighScore.getScore(), args);
+		root.addKeyListener(new Controlls(player1, ini.get("pl1_controls")));
+		root.addKeyListener(new Controlls(player2, ini.get("pl2_controls")));
+		GameLoop loop = new GameLoop(clock, GameBoard.FPS);
+		loop.register("loop");
+		player1.getStats().register("player1");
+		player2.getStats().register("player2");
+		StartMenu menu = new StartMenu(player1, player2, loop, root, HighScore.getScore(), args);
 		root.add(menu);
 		root.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
 		root.setSize(800, 600);
@@ -42,4 +80,12 @@ public class Main {
 		sound.playSound();
 		
 	}
+	
+	/**
+	 * Reads an int that may be missing, where 0 is a valid value.
+	 */
+	private static int getInt(Wini ini, String section, String key, int defaultValue) {
+		String value = ini.get(section, key);
+		return (value != null && !value.trim().isEmpty()) ? Integer.parseInt(value.trim()) : defaultValue;
+	}
 }
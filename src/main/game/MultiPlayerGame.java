@@ -0,0 +1,92 @@
+package main.game;
+
+import javax.swing.JFrame;
+import javax.swing.JOptionPane;
+import javax.swing.SwingUtilities;
+
+import main.clock.Clock;
+import main.gameBoard.GameBoard;
+import main.gui.StartMenu;
+import main.gui.TwoPlayerGameGUI;
+import main.highscore.HighScore;
+
+/**
+ * Frame task of a two player game, run by a {@link GameLoop}.
+ */
+public class MultiPlayerGame implements Runnable {
+	private TwoPlayerGameGUI graphics;
+	private GameBoard player1;
+	private GameBoard player2;
+	private JFrame root;
+	private boolean debug;
+	private String[] args;
+	private HighScore highScore;
+	private GameLoop loop;
+	private int frames;
+	private long lastMessur;
+	
+	public MultiPlayerGame(TwoPlayerGameGUI graphics, GameBoard player1, GameBoard player2, GameLoop loop, JFrame root, HighScore hscore, String[] args) {
+		this.graphics = graphics;
+		this.loop = loop;
+		this.player1 = player1;
+		this.player2 = player2;
+		this.root = root;
+		debug = false;
+		for (String s : args) {
+			if (s.toLowerCase().equals("debug")) {
+				debug = true;
+			}
+		}
+//		debug = true;
+		this.args = args;
+		this.highScore = hscore;
+		frames = 0;
+		lastMessur = player1.getClock().nanoTime();
+	}
+	
+	/**
+	 * Plays one frame for both players, or hands back to the start menu once
+	 * one of them has lost.
+	 */
+	@Override
+	public void run() {
+		if (player1.isRuning() && player2.isRuning()) {
+			player1.step();
+			player2.step();
+			graphics.update();
+			if (debug) {
+				measure();
+			}
+		} else {
+			loop.stop();
+			SwingUtilities.invokeLater(() -> {
+				displayDeathScreen();
+				root.remove(graphics);
+				root.add(new StartMenu(player1, player2, loop, root, highScore, args));
+				root.revalidate();
+			});
+		}
+	}
+	
+	private void measure() {
+		Clock clock = player1.getClock();
+		frames++;
+		if (clock.nanoTime() - lastMessur >= 1000000000) {
+			graphics.setPlayer1Append("FPS: " + 1000000000*((double) frames)/(clock.nanoTime() - lastMessur) +
+							   "\n" + player2.getGravity());
+			graphics.update();
+			System.out.println("FPS: " + 1000000000*((double) frames)/(clock.nanoTime() - lastMessur));
+			System.out.println(player2.getGravity());
+			System.out.println("Input to frame: " + player1.getStats().getInputToFrame() + " / " + player2.getStats().getInputToFrame());
+			System.out.println("Input to screen: " + player1.getStats().getInputToPresent() + " / " + player2.getStats().getInputToPresent());
+			frames = 0;
+			lastMessur = clock.nanoTime();
+		}
+	}
+	
+	private void displayDeathScreen() {
+		int winner = (player1.isRuning()) ? 1 : 2;
+		String message = String.format("Player %d is has defeated Player %d", winner, (winner % 2) + 1);
+		JOptionPane.showMessageDialog(root, message);
+	}
+}
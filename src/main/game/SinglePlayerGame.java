@@ -0,0 +1,117 @@
+package main.game;
+
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutput;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.util.Map.Entry;
+
+import javax.swing.JFrame;
+import javax.swing.JOptionPane;
+import javax.swing.SwingUtilities;
+
+import main.clock.Clock;
+import main.gameBoard.GameBoard;
+import main.gui.GameGUI;
+import main.gui.StartMenu;
+import main.highscore.HighScore;
+
+/**
+ * Frame task of a single player game, run by a {@link GameLoop}.
+ */
+public class SinglePlayerGame implements Runnable {
+	
+	private GameGUI graphics;
+	private GameBoard game;
+	private GameBoard second;
+	private JFrame root;
+	private boolean debug;
+	private String[] args;
+	private HighScore score;
+	private GameLoop loop;
+	private int frames;
+	private long lastMessur;
+	
+	public SinglePlayerGame(GameGUI graphics, GameBoard game, GameBoard second, GameLoop loop, JFrame root, HighScore score, String[] args) {
+		this.graphics = graphics;
+		this.loop = loop;
+		this.game = game;
+		this.second = second;
+		this.root = root;
+		debug = false;
+		for (String s : args) {
+			if (s.toLowerCase().equals("debug")) {
+				debug = true;
+			}
+		}
+		this.args = args;
+		this.score = score;
+		frames = 0;
+		lastMessur = game.getClock().nanoTime();
+	}
+	
+	/**
+	 * Plays one frame, or hands back to the start menu once the game is over.
+	 */
+	@Override
+	public void run() {
+		if (game.isRuning()) {
+			game.step();
+			graphics.update();
+			if (debug) {
+				measure();
+			}
+		} else {
+			loop.stop();
+			SwingUtilities.invokeLater(() -> {
+				saveHighScore();
+				root.remove(graphics);
+				root.add(new StartMenu(game, second, loop, root, score, args));
+				root.revalidate();
+			});
+		}
+	}
+	
+	private void measure() {
+		Clock clock = game.getClock();
+		frames++;
+		if (clock.nanoTime() - lastMessur >= 1000000000) {
+			graphics.setAppend("FPS: " + 1000000000*((double) frames)/(clock.nanoTime() - lastMessur));
+			graphics.update();
+			System.out.println("FPS: " + 1000000000*((double) frames)/(clock.nanoTime() - lastMessur));
+			System.out.println("Input to frame: " + game.getStats().getInputToFrame());
+			System.out.println("Input to screen: " + game.getStats().getInputToPresent());
+			frames = 0;
+			lastMessur = clock.nanoTime();
+		}
+	}
+	
+	private void saveHighScore() {
+		String name = JOptionPane.showInputDialog("Your name:");
+		if (name != null) {
+			score.addScore(name, game.getScore());
+			
+			try {
+				OutputStream out = new FileOutputStream("high_score.score");
+				OutputStream buf = new BufferedOutputStream(out);
+				ObjectOutput output = new ObjectOutputStream(buf);
+				output.writeObject(score);
+				output.close();
+			} catch (IOException e) {
+				e.printStackTrace();
+			}
+		}
+		displayScore(score);
+		
+	}
+	
+	private void displayScore(HighScore score) {
+		StringBuilder sb = new StringBuilder("Scores:\n----\n");
+		for (Entry<String, Long> entry : score.getHighScorer()) {
+			sb.append(entry.getKey() + ": " + entry.getValue() + "\n");
+		}
+		JOptionPane.showMessageDialog(root, sb.toString());
+	}
+}
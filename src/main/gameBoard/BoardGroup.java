@@ -0,0 +1,64 @@
+package main.gameBoard;
+
+import main.clock.Clock;
+import main.clock.TimingWheel;
+
+/**
+ * Boards stepped together that share one timing wheel for their gravity,
+ * lock delay and auto repeat deadlines. Used to run many games in one
+ * process, the boards must only be stepped through the group.
+ */
+public class BoardGroup {
+	
+	private final TimingWheel timers;
+	private final GameBoard[] boards;
+	
+	public BoardGroup(Clock clock, int size, int width, int height) {
+		timers = new TimingWheel(GameBoard.WHEEL_SLOTS, size * GameBoard.NUM_TIMERS);
+		boards = new GameBoard[size];
+		for (int i = 0; i < size; i++) {
+			boards[i] = new GameBoard(clock, width, height, timers, i);
+		}
+	}
+	
+	public int size() {
+		return boards.length;
+	}
+	
+	public GameBoard get(int index) {
+		return boards[index];
+	}
+	
+	/**
+	 * Advances every board by one frame, {@code inputs[i]} holding the
+	 * {@link Input} bits of board {@code i}.
+	 */
+	public void step(int[] inputs) {
+		timers.advance();
+		for (int i = 0; i < boards.length; i++) {
+			boards[i].beginFrame(inputs[i]);
+		}
+		endFrame();
+	}
+	
+	/**
+	 * Advances every board by one frame with the buttons reported to it
+	 * through {@link GameBoard#keyDown} and {@link GameBoard#keyUp}.
+	 */
+	public void step() {
+		timers.advance();
+		for (GameBoard board : boards) {
+			board.beginFrame(board.takeInputs());
+		}
+		endFrame();
+	}
+	
+	private void endFrame() {
+		for (int due = timers.poll(); due != TimingWheel.NONE; due = timers.poll()) {
+			boards[timers.getOwner(due)].onTimer(timers.getEvent(due));
+		}
+		for (GameBoard board : boards) {
+			board.publish();
+		}
+	}
+}
@@ -0,0 +1,102 @@
+package main.gameBoard;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded lock-free queue of int commands, each stamped with the time it
+ * was offered at. Any number of threads may offer, only one thread may poll.
+ *
+ * Every slot carries a sequence number telling whose turn it is: a producer
+ * may write slot {@code i} at position {@code p} once its sequence is
+ * {@code p}, the consumer may read it once it is {@code p + 1}.
+ */
+public class CommandQueue {
+	
+	public static final int EMPTY = -1;
+	
+	private final int mask;
+	private final int[] commands;
+	private final long[] times;
+	private final AtomicLongArray sequences;
+	private final AtomicLong tail;
+	private long head;
+	private long polledTime;
+	
+	/**
+	 * @param capacity a power of two
+	 */
+	public CommandQueue(int capacity) {
+		if (capacity < 1 || Integer.bitCount(capacity) != 1) {
+			throw new IllegalArgumentException("Capacity must be a power of two: " + capacity);
+		}
+		mask = capacity - 1;
+		commands = new int[capacity];
+		times = new long[capacity];
+		sequences = new AtomicLongArray(capacity);
+		for (int i = 0; i < capacity; i++) {
+			sequences.set(i, i);
+		}
+		tail = new AtomicLong();
+		head = 0;
+		polledTime = 0;
+	}
+	
+	/**
+	 * Adds a command, which must not be negative, with the time it was given at.
+	 *
+	 * @return false if the queue is full and the command was dropped
+	 */
+	public boolean offer(int command, long time) {
+		long pos = tail.get();
+		while (true) {
+			int index = (int) pos & mask;
+			long diff = sequences.get(index) - pos;
+			if (diff == 0) {
+				if (tail.compareAndSet(pos, pos + 1)) {
+					commands[index] = command;
+					times[index] = time;
+					sequences.lazySet(index, pos + 1);
+					return true;
+				}
+				pos = tail.get();
+			} else if (diff < 0) {
+				return false;
+			} else {
+				pos = tail.get();
+			}
+		}
+	}
+	
+	/**
+	 * Takes the oldest command, or returns {@code EMPTY}. Only called by the
+	 * consuming thread.
+	 */
+	public int poll() {
+		int index = (int) head & mask;
+		if (sequences.get(index) != head + 1) {
+			return EMPTY;
+		}
+		int command = commands[index];
+		polledTime = times[index];
+		sequences.lazySet(index, head + commands.length);
+		head++;
+		return command;
+	}
+	
+	/**
+	 * Throws away every command offered so far. Only called by the consuming
+	 * thread, or while nothing polls.
+	 */
+	public void clear() {
+		while (poll() != EMPTY) {
+		}
+	}
+	
+	/**
+	 * Time the command returned by the last {@link #poll()} was offered at.
+	 */
+	public long getPolledTime() {
+		return polledTime;
+	}
+}
@@ -1,33 +1,75 @@
 package main.gameBoard;
 
-import java.util.Random;
-import java.util.Timer;
-import java.util.TimerTask;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import jdk.jfr.EventType;
+
+import main.clock.Clock;
+import main.clock.TimingWheel;
 import main.constants.Constants;
-import main.tetrads.Alpha;
-import main.tetrads.Gamma;
-import main.tetrads.LeftSnake;
-import main.tetrads.RightSnake;
-import main.tetrads.Square;
-import main.tetrads.Straight;
-import main.tetrads.TTurn;
+import main.randomizer.Randomizer;
+import main.randomizer.RandomizerType;
+import main.stats.BoardStats;
+import main.stats.FallEvent;
+import main.stats.LineClearEvent;
+import main.stats.PlaceEvent;
+import main.stats.TrashEvent;
+import main.tetrads.RotationSystem;
+import main.tetrads.Shape;
+import main.tetrads.ShapeRegistry;
 import main.tetrads.Tetrad;
-import main.tetrads.Tetrads;
 
 public class GameBoard {
 	private Tetrad hold;
+	/**
+	 * Tetrad not in play while nothing is held, dealt again by the first hold.
+	 */
+	private Tetrad spare;
 	private Tetrad controlling;
-	private Tetrad queue;
+	private Tetrad[] preview;
+	private int previewHead;
+	private int previewSize;
 	
 	private boolean canHold;
 	private boolean incSpeed;
 	private int framesSpedUp;
+	private int heldInputs;
+	private int latchedInputs;
+	private int keysDown;
+	private final CommandQueue commands;
+	private final SnapshotBuffer snapshots;
+	private Snapshot published;
+	private long frameInputTime;
+	private long pendingInputTime;
+	private volatile long presentedInputTime;
+	private final BoardStats stats;
+	private long frame;
+	private int shiftDirection;
+	private long fallProgress;
+	private int fallRate;
+	private long fallFrame;
+	
+	private long[] field;
+	private byte[] typeField;
+	private int[] rows;
+	private int top;
+	private int[] skyline;
 	
-	private boolean[][] field;
-	private Tetrads[][] typeField;
+	private Shape ghostShape;
+	private int ghostX;
+	private int ghostY;
+	private int ghostRotation;
+	private int ghostDrop;
+	private int fieldVersion;
+	private int ghostVersion;
 	
-	private boolean running;
+	/**
+	 * Read by the threads posting commands, which are ignored while the game
+	 * is not running.
+	 */
+	private volatile boolean running;
 	private boolean paused;
 	
 	private long score;
@@ -38,141 +80,311 @@ public class GameBoard {
 	private int multiplayerCombo;
 	
 	private GameBoard otherPlayer;
+	private RotationSystem rotationSystem;
+	private RandomizerType randomizerType;
+	private Randomizer randomizer;
+	private SplittableRandom seeds;
+	private long seed;
+	
+	private Clock clock;
+	private final TimingWheel timers;
+	private final boolean ownsTimers;
+	private final int owner;
+	private final int id;
+	private static final AtomicInteger ids = new AtomicInteger();
+	private final int[] timer;
+	private final long[] suspended;
+	private int lockDelay;
+	private int das;
+	private int arr;
+	
+	/**
+	 * Rows per second fallen at a gravity of one.
+	 */
+	private static final int FALL_RATE = 20;
+	public static final int FPS = 60;
+	/**
+	 * Fall progress of one row, in 1/256 G frames.
+	 */
+	private static final int ROW = 256 * FPS / FALL_RATE;
+	public static final int DEFAULT_LOCK_DELAY = 30;
+	public static final int DEFAULT_DAS = 15;
+	public static final int DEFAULT_ARR = 2;
+	private static final int COMMAND_CAPACITY = 256;
+	private static final int COMMAND_TYPE = 0xFF << 16;
+	private static final int KEY_DOWN = 1 << 16;
+	private static final int KEY_UP = 2 << 16;
+	private static final int TOGGLE_PAUSE = 3 << 16;
+	/**
+	 * Types of the events of rarely run code, which is not compiled well
+	 * enough to drop an event nobody records. These events are only created
+	 * while their type is enabled, so ticks allocate nothing.
+	 */
+	private static final EventType TRASH_EVENT = EventType.getEventType(TrashEvent.class);
+	private static final EventType FALL_EVENT = EventType.getEventType(FallEvent.class);
+	private static final EventType PLACE_EVENT = EventType.getEventType(PlaceEvent.class);
+	private static final EventType LINE_CLEAR_EVENT = EventType.getEventType(LineClearEvent.class);
+	/**
+	 * Events kept on the timing wheel, each scheduled at most once at a time.
+	 */
+	static final int FALL = 0;
+	static final int LOCK = 1;
+	static final int SHIFT = 2;
+	static final int NUM_TIMERS = 3;
+	static final int WHEEL_SLOTS = 256;
+	private final int MAX_Y;
+	private final int MAX_X;
+	private final long FULL;
+	static final byte TRASH = -1;
+	public static final int DEFAULT_WIDTH = 10;
+	public static final int DEFAULT_HEIGHT = 22;
+	public static final int MAX_WIDTH = 64;
+	public static final int DEFAULT_PREVIEW = 1;
 	
-	private Timer timer;
-	private TimerTask task;
+	public GameBoard(Clock clock) {
+		this(clock, DEFAULT_WIDTH, DEFAULT_HEIGHT);
+	}
 	
-	private final Random rand;
-	private final long DELAY = 500;
-	private final int MAX_Y = 22;
-	private final int MAX_X = 10;
-	private final int NUM_TRYES = 4;
+	/**
+	 * @param width number of columns, at most {@code MAX_WIDTH}
+	 * @param height number of rows including the two hidden ones at the top
+	 */
+	public GameBoard(Clock clock, int width, int height) {
+		this(clock, width, height, new TimingWheel(WHEEL_SLOTS, NUM_TIMERS), 0, true);
+	}
 	
-	private int[] lastFour;
-	private int oldest;
+	/**
+	 * Board whose deadlines are kept on a wheel shared with other boards and
+	 * advanced by a {@link BoardGroup}.
+	 */
+	GameBoard(Clock clock, int width, int height, TimingWheel timers, int owner) {
+		this(clock, width, height, timers, owner, false);
+	}
 	
-	public GameBoard(Timer t) {
-		rand = new Random();
-		timer = t;
+	private GameBoard(Clock clock, int width, int height, TimingWheel timers, int owner, boolean ownsTimers) {
+		if (width < 1 || width > MAX_WIDTH || height < 3) {
+			throw new IllegalArgumentException("Invalid field size " + width + "x" + height);
+		}
+		MAX_X = width;
+		MAX_Y = height;
+		FULL = (width == MAX_WIDTH) ? -1L : (1L << width) - 1;
+		seeds = new SplittableRandom();
+		previewSize = DEFAULT_PREVIEW;
+		randomizerType = RandomizerType.HISTORY;
+		this.clock = clock;
+		commands = new CommandQueue(COMMAND_CAPACITY);
+		stats = new BoardStats(clock);
+		presentedInputTime = Snapshot.NO_INPUT;
+		snapshots = new SnapshotBuffer(width, height);
+		this.timers = timers;
+		this.owner = owner;
+		this.ownsTimers = ownsTimers;
+		id = ids.incrementAndGet();
+		timer = new int[NUM_TIMERS];
+		Arrays.fill(timer, TimingWheel.NONE);
+		suspended = new long[NUM_TIMERS];
+		lockDelay = DEFAULT_LOCK_DELAY;
+		das = DEFAULT_DAS;
+		arr = DEFAULT_ARR;
 		otherPlayer = null;
 		paused = false;
+		rotationSystem = RotationSystem.CLASSIC;
 		reset();
 	}
 	
-	public boolean[][] getColition() {
-		return field;
-	}
-	
-	public GameBoard(Timer t, GameBoard g) {
-		this(t);
+	public GameBoard(Clock clock, GameBoard g) {
+		this(clock);
 		otherPlayer = g;
-		gravity = Constants.MULTIPLAYER_GRAVITY.get(0);
+		gravity = Constants.getGravity(getGravityCurve(), level);
 	}
 	
+	/**
+	 * Plays against {@code g}, or alone if it is null, and moves to the
+	 * gravity curve of that mode.
+	 */
 	public void setOtherPlayer(GameBoard g) {
 		otherPlayer = g;
-		gravity = Constants.MULTIPLAYER_GRAVITY.get(0);
+		gravity = Constants.getGravity(getGravityCurve(), level);
+		scheduleFall();
+	}
+	
+	/**
+	 * All values are in frames.
+	 *
+	 * @param lockDelay frames a landed tetrad waits before it is placed
+	 * @param das frames a direction is held before it starts repeating
+	 * @param arr frames between repeated moves, 0 moves straight to the wall
+	 */
+	public void setTiming(int lockDelay, int das, int arr) {
+		if (lockDelay < 0 || das < 0 || arr < 0) {
+			throw new IllegalArgumentException("Invalid timing " + lockDelay + ", " + das + ", " + arr);
+		}
+		this.lockDelay = lockDelay;
+		this.das = das;
+		this.arr = arr;
+	}
+	
+	public void setRotationSystem(RotationSystem system) {
+		rotationSystem = system;
+	}
+	
+	/**
+	 * Takes effect on the next reset.
+	 */
+	public void setRandomizer(RandomizerType type) {
+		randomizerType = type;
+	}
+	
+	/**
+	 * Number of upcoming tetrads shown, takes effect on the next reset.
+	 */
+	public void setPreviewSize(int size) {
+		if (size < 1) {
+			throw new IllegalArgumentException("Invalid preview size " + size);
+		}
+		previewSize = size;
+	}
+	
+	/**
+	 * Makes the seeds of all following games depend only on {@code seed}.
+	 */
+	public void setSeed(long seed) {
+		seeds = new SplittableRandom(seed);
+	}
+	
+	/**
+	 * Seed of the current game, passing it to {@link #reset(long)} replays
+	 * the same sequence of tetrads.
+	 */
+	public long getSeed() {
+		return seed;
 	}
 	
 	public boolean isPaused() {
 		return paused;
 	}
 	
+	/**
+	 * Takes the timers off the wheel while paused and puts them back with
+	 * the frames they had left.
+	 */
 	public void setPause(boolean p) {
+		if (p == paused) {
+			return;
+		}
 		paused = p;
+		for (int event = 0; event < NUM_TIMERS; event++) {
+			if (paused) {
+				suspended[event] = isScheduled(event) ? timers.getDeadline(timer[event]) - timers.getFrame() : -1;
+				cancel(event);
+			} else if (suspended[event] >= 0) {
+				schedule(event, suspended[event]);
+			}
+		}
+		if (paused) {
+			syncFall();
+		} else {
+			fallFrame = timers.getFrame();
+		}
 	}
 	
 	public void reset() {
+		reset(seeds.nextLong());
+	}
+	
+	public void reset(long seed) {
+		this.seed = seed;
+		randomizer = randomizerType.create(seed);
 		hold = null;
 		canHold = true;
-		do{
-			controlling = getRandom(rand.nextInt(7));
-		} while (controlling.getType() == Tetrads.LEFT_SNAKE || controlling.getType() == Tetrads.RIGHT_SNAKE || controlling.getType() == Tetrads.SQUARE);
-		queue = getRandom(rand.nextInt(7));
-		field = new boolean[MAX_Y][MAX_X];
-		typeField = new Tetrads[MAX_Y][MAX_X];
+		controlling = nextTetrad();
+		spare = spawn(controlling.getShape());
+		if (preview == null || preview.length != previewSize) {
+			preview = new Tetrad[previewSize];
+		}
+		for (int i = 0; i < preview.length; i++) {
+			preview[i] = nextTetrad();
+		}
+		previewHead = 0;
+		field = new long[MAX_Y];
+		typeField = new byte[MAX_Y * MAX_X];
+		rows = new int[MAX_Y];
+		for (int row = 0; row < MAX_Y; row++) {
+			rows[row] = row;
+		}
+		top = 0;
+		skyline = new int[MAX_X];
+		Arrays.fill(skyline, MAX_Y);
+		fieldVersion++;
 		score = 0;
 		running = false;
 		level = 0;
-		task = null;
+		for (int event = 0; event < NUM_TIMERS; event++) {
+			cancel(event);
+		}
+		Arrays.fill(suspended, -1);
+		heldInputs = 0;
+		shiftDirection = 0;
+		latchedInputs = 0;
+		keysDown = 0;
+		commands.clear();
+		fallProgress = 0;
+		fallRate = 0;
+		fallFrame = timers.getFrame();
 		incSpeed = false;
 		combo = 0;
-		gravity = Constants.SINGLE_PLAYER_GRAVITY.get(0);
+		gravity = Constants.getGravity(getGravityCurve(), 0);
 		framesSpedUp = 0;
 		trashToAdd = 0;
 		multiplayerCombo = 0;
-		lastFour = new int[]{2,2,3,3};
-		oldest = 0;
+		frame = 0;
+		frameInputTime = Snapshot.NO_INPUT;
+		pendingInputTime = Snapshot.NO_INPUT;
+		stats.reset();
+		publish();
 	}
 	
-	public Timer getTimer() {
-		return timer;
+	/**
+	 * Clock the game is paced by.
+	 */
+	public Clock getClock() {
+		return clock;
 	}
 	
 	public void setIncSpeed(boolean newValue) {
 		incSpeed = newValue;
+		scheduleFall();
 	}
 	
-	public void incNumFramesSpedUp() {
-		framesSpedUp++;
+	/**
+	 * Current speed in 1/256 G, soft drop falls at least at 1 G.
+	 */
+	public int getGravity() {
+		return (incSpeed) ? Math.max(gravity, 256) : gravity;
 	}
 	
-	public double getGravity() {
-		if (otherPlayer == null) {
-			return (incSpeed) ? Math.max(1, gravity/256D) : gravity/256D;
-		} else {
-			return (incSpeed) ? 1 : 1D/gravity;
-		}
+	private Tetrad spawn(Shape shape) {
+		return new Tetrad(shape, (MAX_X - shape.getSize()) / 2, 0);
 	}
 	
-	private boolean contains(int toTest) {
-		for (int i : lastFour) {
-			if (i == toTest) {
-				return true;
-			}
-		}
-		return false;
-	}
-	
-	private Tetrad getRandom(int tetNum) {
-		switch (tetNum) {
-		case 0:
-			return new Alpha();
-		case 1:
-			return new Gamma();
-		case 2:
-			return new LeftSnake();
-		case 3:
-			return new RightSnake();
-		case 4:
-			return new Square();
-		case 5:
-			return new Straight();
-		case 6:
-			return new TTurn();
-		default:
-			throw new RuntimeException();
-		}
-	}
-	
-	private Tetrad getRandomTetrad() {
-		int try_num = 0;
-		while (try_num < NUM_TRYES) {
-			int tetNum = rand.nextInt(7);
-			if (!contains(tetNum)) {
-				lastFour[oldest] = tetNum;
-				oldest++;
-				oldest %= lastFour.length;
-				return getRandom(tetNum);
-			} else {
-				try_num++;
-			}
-		}
-		int tetNum = rand.nextInt(7);
-		lastFour[oldest] = tetNum;
-		oldest++;
-		oldest %= lastFour.length;
-		return getRandom(tetNum);
+	private void respawn(Tetrad tetrad, Shape shape) {
+		tetrad.respawn(shape, (MAX_X - shape.getSize()) / 2, 0);
+	}
+	
+	private Tetrad nextTetrad() {
+		return spawn(ShapeRegistry.get(randomizer.next()));
+	}
+	
+	/**
+	 * Takes the first tetrad of the preview and deals the next shape at its
+	 * end into {@code free}, a tetrad no longer in play.
+	 */
+	private Tetrad popQueue(Tetrad free) {
+		Tetrad next = preview[previewHead];
+		respawn(free, ShapeRegistry.get(randomizer.next()));
+		preview[previewHead] = free;
+		previewHead = (previewHead + 1) % preview.length;
+		return next;
 	}
 	
 	public void incTrashLines(int toIncWith) {
@@ -180,61 +392,37 @@ public class GameBoard {
 	}
 	
 	private void spawnNew() {
-		controlling = queue;
+		controlling = popQueue(controlling);
 		if (!checkValidState(0, 0) && !checkValidState(0, 1)) {
 			running = false;
 		} else {
-			queue = getRandomTetrad();
 			canHold = true;
 		}
 		if (level + 1 % 100 != 0) {
 			level++;
-			if (otherPlayer == null) {
-				gravity = (Constants.SINGLE_PLAYER_GRAVITY.get(level) != null) ? Constants.SINGLE_PLAYER_GRAVITY.get(level) : gravity;
-			} else {
-				gravity = (Constants.MULTIPLAYER_GRAVITY.get(level) != null) ? Constants.MULTIPLAYER_GRAVITY.get(level) : gravity;
-			}
+			gravity = Constants.getGravity(getGravityCurve(), level);
+			scheduleFall();
 		}
 		if (this.trashToAdd > 0) {
+			TrashEvent event = (TRASH_EVENT.isEnabled()) ? new TrashEvent() : null;
+			if (event != null) {
+				event.begin();
+				event.lines = trashToAdd;
+			}
 			for (; trashToAdd > 0; trashToAdd--) {
 				addTrashLine();
 			}
+			if (event != null && event.shouldCommit()) {
+				event.board = id;
+				event.commit();
+			}
 		}
 	}
 	
 	public void start() {
+		commands.clear();
 		running = true;
-	}
-	
-	private void spawnNew(Tetrads type) {
-		/**
-		 * Used when changing holding
-		 */
-		switch (type) {
-		case ALPHA:
-			controlling = new Alpha();
-			break;
-		case GAMMA:
-			controlling = new Gamma();
-			break;
-		case LEFT_SNAKE:
-			controlling = new LeftSnake();
-			break;
-		case RIGHT_SNAKE:
-			controlling = new RightSnake();
-			break;
-		case SQUARE:
-			controlling = new Square();
-			break;
-		case STRAIGHT:
-			controlling = new Straight();
-			break;
-		case T_TURN:
-			controlling = new TTurn();
-			break;
-		default:
-			throw new RuntimeException();
-		}
+		scheduleFall();
 	}
 	
 	public void hold() {
@@ -242,33 +430,44 @@ public class GameBoard {
 			if (hold != null) {
 				Tetrad temp = hold;
 				hold = controlling;
-				spawnNew(temp.getType());
-				
+				controlling = temp;
+				respawn(controlling, controlling.getShape());
 			} else {
 				hold = controlling;
-				controlling = queue;
-				queue = getRandomTetrad();
+				controlling = popQueue(spare);
+				spare = null;
 			}
 			canHold = false;
 		}
 	}
 	
+	/**
+	 * Moves the bits of one mask row to board column {@code x}. The caller
+	 * makes sure no cell ends up outside the field.
+	 */
+	private static long toFieldRow(long bits, int x) {
+		return (x >= 0) ? bits << x : bits >>> -x;
+	}
+	
 	private boolean checkValidState(Tetrad t, int deltaX, int deltaY) {
-		for (int row = 0; row < 4; row++) {
-			for (int col = 0; col < 4; col++) {
-				if ((t.getXPos() + col + deltaX >= MAX_X ||
-					 t.getYPos() + row + deltaY >= MAX_Y ||
-					 t.getXPos() + col + deltaX < 0 ||
-					 t.getYPos() + row + deltaY < 0)) {
-					if (t.colide(t.getXPos() + col, t.getYPos() + row)) {
-						return false;
-					} else {
-						continue;
-					}
-				} if (field[t.getYPos() + row + deltaY][t.getXPos() + col + deltaX] &&
-					t.colide(t.getXPos() + col, t.getYPos() + row)) {
-					return false;
-				}
+		return checkValidState(t.getShape(), t.getRotation(), t.getXPos() + deltaX, t.getYPos() + deltaY);
+	}
+	
+	boolean checkValidState(Shape shape, int rotation, int x, int y) {
+		if (x + shape.getLeftCol(rotation) < 0 || x + shape.getRightCol(rotation) >= MAX_X) {
+			return false;
+		}
+		long mask = shape.getMask(rotation);
+		for (int row = 0; row < shape.getSize(); row++) {
+			long bits = Shape.rowBits(mask, row);
+			if (bits == 0) {
+				continue;
+			}
+			if (y + row < 0 || y + row >= MAX_Y) {
+				return false;
+			}
+			if ((field[physical(y + row)] & toFieldRow(bits, x)) != 0) {
+				return false;
 			}
 		}
 		
@@ -279,89 +478,425 @@ public class GameBoard {
 		return checkValidState(controlling, deltaX, deltaY);
 	}
 	
-	public void update() {
+	/**
+	 * Advances the game by one frame. {@code inputs} has the {@link Input}
+	 * bit of every button held during the frame set, a button acts on the
+	 * frame it goes down.
+	 */
+	public void step(int inputs) {
+		if (ownsTimers) {
+			timers.advance();
+		}
+		beginFrame(inputs);
+		if (ownsTimers) {
+			for (int due = timers.poll(); due != TimingWheel.NONE; due = timers.poll()) {
+				onTimer(timers.getEvent(due));
+			}
+		}
+		publish();
+	}
+	
+	/**
+	 * Applies the inputs of a frame. The timers due in the frame are run
+	 * after it, then the frame is published.
+	 */
+	void beginFrame(int inputs) {
+		frame++;
+		int pressed = inputs & ~heldInputs;
+		int released = heldInputs & ~inputs;
+		heldInputs = inputs;
+		if (!running || paused) {
+			return;
+		}
+		if ((pressed & Input.HOLD) != 0) {
+			hold();
+		}
+		autoShift(inputs, pressed);
+		if ((pressed & Input.TURN_LEFT) != 0) {
+			turnLeft();
+		}
+		if ((pressed & Input.TURN_RIGHT) != 0) {
+			turnRight();
+		}
+		if ((pressed & Input.SOFT_DROP) != 0) {
+			setIncSpeed(true);
+		} else if ((released & Input.SOFT_DROP) != 0) {
+			setIncSpeed(false);
+		}
+		if ((pressed & Input.HARD_DROP) != 0) {
+			fastPlace();
+		}
+		if (incSpeed) {
+			framesSpedUp++;
+		}
+	}
+	
+	/**
+	 * Runs a timer of this board that is due.
+	 */
+	void onTimer(int event) {
+		timer[event] = TimingWheel.NONE;
+		if (!running || paused) {
+			return;
+		}
+		switch (event) {
+		case FALL:
+			fall();
+			break;
+		case LOCK:
+			place();
+			break;
+		case SHIFT:
+			repeatShift();
+			break;
+		}
+	}
+	
+	private void schedule(int event, long delay) {
+		timers.cancel(timer[event]);
+		timer[event] = timers.schedule(timers.getFrame() + delay, owner, event);
+	}
+	
+	private void cancel(int event) {
+		timers.cancel(timer[event]);
+		timer[event] = TimingWheel.NONE;
+	}
+	
+	private boolean isScheduled(int event) {
+		return timer[event] != TimingWheel.NONE;
+	}
+	
+	/**
+	 * Whether a landed tetrad waits for its lock delay to run out.
+	 */
+	boolean isLocking() {
+		return isScheduled(LOCK);
+	}
+	
+	/**
+	 * Adds the progress made at the current speed since the last sync.
+	 */
+	private void syncFall() {
+		fallProgress += fallRate * (timers.getFrame() - fallFrame);
+		fallFrame = timers.getFrame();
+	}
+	
+	/**
+	 * Schedules the frame the next row falls on. Called whenever the speed
+	 * changes, the progress made so far is kept.
+	 */
+	private void scheduleFall() {
+		syncFall();
+		fallRate = getGravity();
+		if (running && !paused) {
+			schedule(FALL, Math.max(1, (ROW - fallProgress + fallRate - 1) / fallRate));
+		}
+	}
+	
+	/**
+	 * Drops every row fallen since the last sync at once, as far as the
+	 * skyline lets the tetrad fall, and starts the lock if it landed.
+	 */
+	private void fall() {
+		FallEvent event = (FALL_EVENT.isEnabled()) ? new FallEvent() : null;
+		if (event != null) {
+			event.begin();
+		}
+		syncFall();
+		int fallen = (int) (fallProgress / ROW);
+		fallProgress %= ROW;
+		int drop = 0;
+		if (running && fallen > 0) {
+			drop = Math.min(fallen, getDropDistance());
+			controlling.fall(drop);
+			if (fallen > drop) {
+				startLock();
+			}
+		}
+		scheduleFall();
+		if (event != null && event.shouldCommit()) {
+			event.board = id;
+			event.rows = drop;
+			event.commit();
+		}
+	}
+	
+	private int[] getGravityCurve() {
+		return (otherPlayer == null) ? Constants.SINGLE_PLAYER_GRAVITY : Constants.MULTIPLAYER_GRAVITY;
+	}
+	
+	/**
+	 * Copies what the GUI draws into the back snapshot and publishes it. The
+	 * field is only copied when it changed since the snapshot last held it.
+	 */
+	void publish() {
+		Snapshot snapshot = snapshots.back();
+		if (snapshot.fieldVersion != fieldVersion) {
+			for (int row = 0; row < MAX_Y; row++) {
+				System.arraycopy(typeField, physical(row) * MAX_X, snapshot.cells, row * MAX_X, MAX_X);
+			}
+			snapshot.fieldVersion = fieldVersion;
+		}
+		snapshot.controlling = controlling.getShape();
+		snapshot.controllingX = controlling.getXPos();
+		snapshot.controllingY = controlling.getYPos();
+		snapshot.controllingRotation = controlling.getRotation();
+		snapshot.ghostY = getPlacementYPos();
+		if (snapshot.preview.length != preview.length) {
+			snapshot.preview = new Shape[preview.length];
+		}
+		for (int i = 0; i < preview.length; i++) {
+			snapshot.preview[i] = getQueue(i).getShape();
+		}
+		snapshot.hold = (hold != null) ? hold.getShape() : null;
+		snapshot.frame = frame;
+		snapshot.score = score;
+		snapshot.level = level;
+		snapshot.running = running;
+		snapshot.paused = paused;
+		if (pendingInputTime == presentedInputTime) {
+			pendingInputTime = Snapshot.NO_INPUT;
+		}
+		if (pendingInputTime == Snapshot.NO_INPUT) {
+			// frames keep showing the oldest input until one of them is presented
+			pendingInputTime = frameInputTime;
+		}
+		frameInputTime = Snapshot.NO_INPUT;
+		snapshot.inputTime = pendingInputTime;
+		published = snapshot;
+		snapshots.publish();
+	}
+	
+	/**
+	 * Frame last published, for the thread that steps the board. Nothing
+	 * writes it before that thread steps again.
+	 */
+	public Snapshot getPublished() {
+		return published;
+	}
+	
+	/**
+	 * Newest frame published by the game thread. Must always be called from
+	 * the same thread, the snapshot stays unchanged until that thread calls
+	 * again.
+	 */
+	public Snapshot getSnapshot() {
+		return snapshots.latest();
+	}
+	
+	/**
+	 * Advances one frame with the buttons reported through {@link #keyDown}
+	 * and {@link #keyUp} since the last frame.
+	 */
+	public void step() {
+		step(takeInputs());
+	}
+	
+	/**
+	 * Buttons held this frame according to the commands posted so far.
+	 */
+	int takeInputs() {
+		applyCommands();
+		int inputs = keysDown | latchedInputs;
+		latchedInputs = 0;
+		return inputs;
+	}
+	
+	/**
+	 * Applies every command posted since the last frame. A button that went
+	 * down counts as held for this frame even if it was released already.
+	 */
+	private void applyCommands() {
+		for (int command = commands.poll(); command != CommandQueue.EMPTY; command = commands.poll()) {
+			long time = commands.getPolledTime();
+			stats.getInputToFrame().record(clock.nanoTime() - time);
+			if (frameInputTime == Snapshot.NO_INPUT) {
+				frameInputTime = time;
+			}
+			int input = command & ~COMMAND_TYPE;
+			switch (command & COMMAND_TYPE) {
+			case KEY_DOWN:
+				keysDown |= input;
+				latchedInputs |= input;
+				break;
+			case KEY_UP:
+				keysDown &= ~input;
+				break;
+			case TOGGLE_PAUSE:
+				setPause(running && !paused);
+				break;
+			}
+		}
+	}
+	
+	/**
+	 * Reports a button going down. Like {@link #keyUp} and
+	 * {@link #togglePause} it may be called from any thread, the command is
+	 * applied by the next {@link #step()}. Commands posted while the game is
+	 * not running are ignored, nothing would take them off the queue.
+	 */
+	public void keyDown(int input) {
+		post(KEY_DOWN | input);
+	}
+	
+	public void keyUp(int input) {
+		post(KEY_UP | input);
+	}
+	
+	public void togglePause() {
+		post(TOGGLE_PAUSE);
+	}
+	
+	private void post(int command) {
 		if (running) {
-			if (checkValidState(0, 1)) {
-				controlling.fall();
-			} else {
-				if (task == null) {
-					task = new TimerTask() {
-						@Override
-						public void run() {
-							place();
-						}
-					};
-					timer.schedule(task, DELAY);
+			commands.offer(command, clock.nanoTime());
+		}
+	}
+	
+	/**
+	 * Reports that a frame is on screen, from the one thread that draws the
+	 * board. Measures how long the oldest input the frame shows took to get
+	 * there, unless an earlier frame already showed it.
+	 *
+	 * @param inputTime {@link Snapshot#getInputTime()} of the frame
+	 */
+	public void presented(long inputTime) {
+		if (inputTime != Snapshot.NO_INPUT && inputTime != presentedInputTime) {
+			stats.getInputToPresent().record(clock.nanoTime() - inputTime);
+			presentedInputTime = inputTime;
+		}
+	}
+	
+	/**
+	 * Counters and latencies of the game, kept until the next reset.
+	 */
+	public BoardStats getStats() {
+		return stats;
+	}
+	
+	/**
+	 * Moves on the frame a direction goes down, then every {@code arr}
+	 * frames once it has been held for {@code das} frames. The direction
+	 * pressed last wins while both are held.
+	 */
+	private void autoShift(int inputs, int pressed) {
+		int directions = Input.LEFT | Input.RIGHT;
+		if ((pressed & directions) != 0) {
+			shiftDirection = ((pressed & Input.RIGHT) != 0) ? Input.RIGHT : Input.LEFT;
+			shift(shiftDirection);
+			schedule(SHIFT, Math.max(das, 1));
+		} else if ((inputs & shiftDirection) == 0) {
+			// the other direction, if still held, charges again from the start
+			int held = Integer.lowestOneBit(inputs & directions);
+			if (held != shiftDirection) {
+				shiftDirection = held;
+				if (held != 0) {
+					schedule(SHIFT, Math.max(das, 1));
+				} else {
+					cancel(SHIFT);
 				}
 			}
 		}
 	}
 	
+	private void repeatShift() {
+		if (arr == 0) {
+			while (shift(shiftDirection)) {
+			}
+		} else {
+			shift(shiftDirection);
+		}
+		schedule(SHIFT, Math.max(arr, 1));
+	}
+	
+	private boolean shift(int direction) {
+		int deltaX = (direction == Input.LEFT) ? -1 : 1;
+		if (!checkValidState(deltaX, 0)) {
+			return false;
+		}
+		cancel(LOCK);
+		if (direction == Input.LEFT) {
+			controlling.moveLeft();
+		} else {
+			controlling.moveRight();
+		}
+		return true;
+	}
+	
+	private void startLock() {
+		if (!isScheduled(LOCK)) {
+			schedule(LOCK, lockDelay);
+		}
+	}
+	
 	public void place() {
 		if (!checkValidState(0, 1)) {
-			boolean[][] orientation = controlling.getOrientation();
+			PlaceEvent event = (PLACE_EVENT.isEnabled()) ? new PlaceEvent() : null;
+			if (event != null) {
+				event.begin();
+			}
+			long locked = clock.nanoTime();
+			long mask = controlling.getMask();
 			int x = controlling.getXPos();
 			int y = controlling.getYPos();
-			Tetrads type = controlling.getType();
-			for (int row = 0; row < orientation.length; row++) {
-				for (int col = 0; col < orientation[0].length; col++) {
-					if (y + row < MAX_Y && x + col < MAX_X && x+col >= 0) {
-						if (orientation[row][col]) {
-							typeField[y + row][x + col] = type;
-							field[y + row][x + col] = orientation[row][col];
-						}
-					}
+			int size = controlling.getShape().getSize();
+			byte type = (byte) (controlling.getShape().getId() + 1);
+			for (int row = Math.max(0, -y); row < size && y + row < MAX_Y; row++) {
+				long cells = toFieldRow(Shape.rowBits(mask, row), x) & FULL;
+				int fieldRow = physical(y + row);
+				field[fieldRow] |= cells;
+				for (; cells != 0; cells &= cells - 1) {
+					int col = Long.numberOfTrailingZeros(cells);
+					typeField[fieldRow * MAX_X + col] = type;
+					skyline[col] = Math.min(skyline[col], y + row);
 				}
 			}
-			checkTetris();
+			fieldVersion++;
+			checkTetris(y, Math.min(y + size, MAX_Y));
 			spawnNew();
+			stats.piecePlaced();
+			stats.getLockToSpawn().record(clock.nanoTime() - locked);
+			if (event != null && event.shouldCommit()) {
+				event.board = id;
+				event.commit();
+			}
 		}
-		if (task != null) {
-			task.cancel();
-			task = null;
-		}
+		cancel(LOCK);
 	}
 	
-	public boolean isSpedUp() {
-		return incSpeed;
-	}
-
-	private void checkTetris() {
+	/**
+	 * Clears the full rows in [fromRow, toRow), the only rows the last
+	 * placed tetrad can have completed.
+	 */
+	void checkTetris(int fromRow, int toRow) {
+		LineClearEvent event = (LINE_CLEAR_EVENT.isEnabled()) ? new LineClearEvent() : null;
+		if (event != null) {
+			event.begin();
+		}
 		int rowsRemoved = 0;
-		for (int row = 0; row < MAX_Y; row++) {
-			boolean tetrisOnRow = true;
-			for (int col = 0; col < MAX_X; col++) {
-				if (!field[row][col]) {
-					tetrisOnRow = false;
-					break;
-				}
-			}
-			if (tetrisOnRow && typeField[row][0] != Tetrads.TRASH) {
+		for (int row = Math.max(fromRow, 0); row < toRow; row++) {
+			if (field[physical(row)] == FULL && !isTrash(row)) {
 				moveDown(row);
 				rowsRemoved++;
 			}
 		}
+		if (event != null && event.shouldCommit()) {
+			event.board = id;
+			event.lines = rowsRemoved;
+			event.commit();
+		}
+		stats.linesCleared(rowsRemoved);
 		for (int i = 0; i < rowsRemoved; i++) {
 			level++;
-			if (otherPlayer == null) {
-				gravity = (Constants.SINGLE_PLAYER_GRAVITY.get(level) != null) ? Constants.SINGLE_PLAYER_GRAVITY.get(level) : gravity;
-			} else {
-				gravity = (Constants.MULTIPLAYER_GRAVITY.get(level) != null) ? Constants.MULTIPLAYER_GRAVITY.get(level) : gravity;
-			}
-		}
-		int bravo = 4;
-		for (int col = 0; col < MAX_X; col++) {
-			if (field[MAX_Y - 1][col]) {
-				bravo = 1;
-				break;
-			}
+			gravity = Constants.getGravity(getGravityCurve(), level);
 		}
+		int bravo = (field[physical(MAX_Y - 1)] != 0) ? 1 : 4;
 		score += (Math.ceil((level + rowsRemoved)/4.0) + framesSpedUp) * rowsRemoved * combo * bravo;
 		
 		if (rowsRemoved >= 2) {
 			int diff = (rowsRemoved == 4) ? 0 : -1;
 			for (int i = 0; i < rowsRemoved + diff; i++) {
-				if (typeField[MAX_Y - 1][0] == Tetrads.TRASH) {
+				if (isTrash(MAX_Y - 1)) {
 					moveDown(MAX_Y - 1);
 				} else {
 					break;
@@ -376,7 +911,7 @@ public class GameBoard {
 		if (rowsRemoved != 0) {
 			combo = combo + (2*rowsRemoved) - 2;
 			framesSpedUp = 0;
-			if (typeField[MAX_Y - 1][0] == Tetrads.TRASH) {
+			if (isTrash(MAX_Y - 1)) {
 				for (int i = rowsRemoved; i > 0; i--) {
 					moveDown(MAX_Y -1);
 				}
@@ -389,72 +924,189 @@ public class GameBoard {
 	}
 	
 	public void addTrashLine() {
-		moveUp(MAX_Y - 1);
+		long rescan = 0;
 		for (int col = 0; col < MAX_X; col++) {
-			field[MAX_Y - 1][col] = true;
-			typeField[MAX_Y - 1][col] = Tetrads.TRASH;
+			if (skyline[col] == 0) {
+				rescan |= 1L << col;
+			} else {
+				skyline[col] = Math.min(skyline[col] - 1, MAX_Y - 1);
+			}
 		}
+		int bottom = moveUp();
+		field[bottom] = FULL;
+		Arrays.fill(typeField, bottom * MAX_X, (bottom + 1) * MAX_X, TRASH);
+		rescanSkyline(rescan, 0);
 	}
 	
-	private void moveUp(int row) {
-		if (row == 0) {
-			for (int col = 0; col < MAX_X; col++) {
-				field[row][col] = field[row + 1][col];
-				typeField[row][col] = typeField[row + 1][col];
-			}
-			return;
+	/**
+	 * Overwrites the cells of {@code row}, bit {@code col} of {@code cells}
+	 * set for every occupied column. Used to build benchmark fixtures.
+	 */
+	void setRow(int row, long cells, byte type) {
+		int fieldRow = physical(row);
+		field[fieldRow] = cells & FULL;
+		for (int col = 0; col < MAX_X; col++) {
+			typeField[fieldRow * MAX_X + col] = ((field[fieldRow] & (1L << col)) != 0) ? type : 0;
 		}
-		moveUp(row - 1);
-		if (row < MAX_Y - 1) {
-			for (int col = 0; col < MAX_X; col++) {
-				field[row][col] = field[row + 1][col];
-				typeField[row][col] = typeField[row + 1][col];
-			}
-			return;
+		rescanSkyline(FULL, 0);
+		fieldVersion++;
+	}
+	
+	/**
+	 * Copies the field, score and controlled tetrad of {@code from}, a board
+	 * of the same size, so a benchmark can restore its fixture without
+	 * replaying the game that built it.
+	 */
+	void copyState(GameBoard from) {
+		if (from.MAX_X != MAX_X || from.MAX_Y != MAX_Y) {
+			throw new IllegalArgumentException("Invalid field size " + from.MAX_X + "x" + from.MAX_Y);
 		}
+		System.arraycopy(from.field, 0, field, 0, MAX_Y);
+		System.arraycopy(from.typeField, 0, typeField, 0, MAX_Y * MAX_X);
+		System.arraycopy(from.rows, 0, rows, 0, MAX_Y);
+		System.arraycopy(from.skyline, 0, skyline, 0, MAX_X);
+		top = from.top;
+		controlling.respawn(from.controlling.getShape(), from.controlling.getXPos(), from.controlling.getYPos());
+		controlling.copyAll(from.controlling);
+		score = from.score;
+		level = from.level;
+		combo = from.combo;
+		multiplayerCombo = from.multiplayerCombo;
+		framesSpedUp = from.framesSpedUp;
+		gravity = from.gravity;
+		running = from.running;
+		fieldVersion++;
+	}
+	
+	/**
+	 * The rows are kept in a ring: {@code rows[(top + row) % MAX_Y]} is the
+	 * index into field and typeField of the visible row {@code row}.
+	 */
+	private int slot(int row) {
+		int slot = top + row;
+		return (slot >= MAX_Y) ? slot - MAX_Y : slot;
+	}
+	
+	private int physical(int row) {
+		return rows[slot(row)];
+	}
+	
+	/**
+	 * Drops the top row by rotating the ring and returns the storage of the
+	 * new, stale bottom row for the caller to overwrite.
+	 */
+	private int moveUp() {
+		int recycled = rows[top];
+		top = slot(1);
+		fieldVersion++;
+		return recycled;
 	}
 
 	private void moveDown(int row) {
-		for (; row >= 0; row--) {
-			for (int col = 0; col < MAX_X; col++) {
-				if (row != 0) {
-					field[row][col] = field[row - 1][col];
-					typeField[row][col] = typeField[row - 1][col];
-			
-				} else {
-					field[row][col] = false;
-					typeField[row][col] = null;
-				}
+		long rescan = 0;
+		for (int col = 0; col < MAX_X; col++) {
+			if (skyline[col] < row) {
+				skyline[col]++;
+			} else if (skyline[col] == row) {
+				rescan |= 1L << col;
 			}
 		}
-		
+		// only the shorter side of the ring is shifted past the removed row
+		int removed = physical(row);
+		if (row < MAX_Y / 2) {
+			for (int r = row; r > 0; r--) {
+				rows[slot(r)] = rows[slot(r - 1)];
+			}
+			rows[top] = removed;
+		} else {
+			for (int r = row; r < MAX_Y - 1; r++) {
+				rows[slot(r)] = rows[slot(r + 1)];
+			}
+			rows[slot(MAX_Y - 1)] = removed;
+			top = slot(MAX_Y - 1);
+		}
+		field[removed] = 0;
+		Arrays.fill(typeField, removed * MAX_X, (removed + 1) * MAX_X, (byte) 0);
+		rescanSkyline(rescan, row + 1);
+		fieldVersion++;
 	}
 	
-	public void moveLeft() {
-		if (checkValidState(-1, 0)) {
-			if (task != null) {
-				task.cancel();
-				task = null;
+	/**
+	 * Sets the skyline of every column in {@code columns} to its first
+	 * occupied row at or below {@code fromRow}.
+	 */
+	private void rescanSkyline(long columns, int fromRow) {
+		for (int row = fromRow; row < MAX_Y && columns != 0; row++) {
+			long found = field[physical(row)] & columns;
+			columns &= ~found;
+			for (; found != 0; found &= found - 1) {
+				skyline[Long.numberOfTrailingZeros(found)] = row;
 			}
-			controlling.moveLeft();
+		}
+		for (; columns != 0; columns &= columns - 1) {
+			skyline[Long.numberOfTrailingZeros(columns)] = MAX_Y;
 		}
 	}
 	
-	public void moveRight() {
-		if (checkValidState(1, 0)) {
-			if (task != null) {
-				task.cancel();
-				task = null;
+	/**
+	 * Number of rows {@code t} can fall before it lands. Read straight off the
+	 * skyline unless the tetrad is tucked under an overhang or was spawned
+	 * into the stack, then it is moved down row by row.
+	 */
+	int dropDistance(Tetrad t) {
+		if (!checkValidState(t, 0, 0)) {
+			return scanDropDistance(t);
+		}
+		int x = t.getXPos();
+		int y = t.getYPos();
+		int drop = MAX_Y;
+		for (int col = 0; col < t.getShape().getSize(); col++) {
+			int bottom = t.getShape().getBottom(t.getRotation(), col);
+			if (bottom >= 0) {
+				int distance = skyline[x + col] - (y + bottom) - 1;
+				if (distance < 0) {
+					return scanDropDistance(t);
+				}
+				drop = Math.min(drop, distance);
 			}
-			controlling.moveRight();
 		}
+		return drop;
+	}
+	
+	private int scanDropDistance(Tetrad t) {
+		int drop = 0;
+		while (checkValidState(t, 0, drop + 1)) {
+			drop++;
+		}
+		return drop;
+	}
+	
+	private int getDropDistance() {
+		if (ghostShape != controlling.getShape() || ghostX != controlling.getXPos() || ghostY != controlling.getYPos() ||
+			ghostRotation != controlling.getRotation() || ghostVersion != fieldVersion) {
+			ghostShape = controlling.getShape();
+			ghostX = controlling.getXPos();
+			ghostY = controlling.getYPos();
+			ghostRotation = controlling.getRotation();
+			ghostVersion = fieldVersion;
+			ghostDrop = dropDistance(controlling);
+		}
+		return ghostDrop;
+	}
+	
+	public void moveLeft() {
+		shift(Input.LEFT);
+	}
+	
+	public void moveRight() {
+		shift(Input.RIGHT);
 	}
 	
 	public String toString() {
 		StringBuilder sb = new StringBuilder();
 		for (int row = 0; row < 2; row++) {
 			for (int col = 0; col < MAX_X; col++) {
-				sb.append(field[row][col] ? "o" : " ");
+				sb.append((field[physical(row)] & (1L << col)) != 0 ? "o" : " ");
 			}
 			sb.append("\n");
 		}
@@ -464,7 +1116,7 @@ public class GameBoard {
 		sb.append("\n");
 		for (int row = 2; row < MAX_Y; row++) {
 			for (int col = 0; col < MAX_X; col++) {
-				sb.append(field[row][col] ? "o" : " ");
+				sb.append((field[physical(row)] & (1L << col)) != 0 ? "o" : " ");
 			}
 			sb.append("\n");
 		}
@@ -476,72 +1128,41 @@ public class GameBoard {
 	}
 	
 	public void turnLeft() {
-		controlling.rotateLeft();
-		if (!checkValidState(0, 0)) {
-			if (checkValidState(0,-1)) {
-				controlling.moveUp();
-			} else if (checkValidState(-1, 0)) {
-				controlling.moveLeft();
-			} else if (checkValidState(1, 0)) {
-				controlling.moveRight();
-			} else {
-				controlling.rotateRight();
+		turn(true);
+	}
+	
+	/**
+	 * Tries the kicks of the rotation system in order and keeps the first
+	 * position the turned tetrad fits in.
+	 */
+	private void turn(boolean left) {
+		Shape shape = controlling.getShape();
+		int from = controlling.getRotation();
+		int to = shape.getTurned(from, left);
+		int[] kicks = shape.getKicks(rotationSystem, from, left);
+		for (int i = 0; i < kicks.length; i += 2) {
+			if (checkValidState(shape, to, controlling.getXPos() + kicks[i], controlling.getYPos() + kicks[i + 1])) {
+				controlling.turn(to, kicks[i], kicks[i + 1]);
+				cancel(LOCK);
 				return;
 			}
 		}
-		if (task != null) {
-			task.cancel();
-			task = null;
-		}
 	}
 	
-	public Tetrad getPlacement() {
-		Tetrad ghost = null;
-		try {
-			ghost = controlling.getClass().newInstance();
-		} catch (InstantiationException | IllegalAccessException e) {
-			e.printStackTrace();
-		}
-		ghost.copyAll(controlling);
-		while (checkValidState(ghost, 0, 1)) {
-			ghost.fall();
-		}
-		return ghost;
+	/**
+	 * Row the controlled tetrad would land on, used to draw its ghost.
+	 */
+	public int getPlacementYPos() {
+		return controlling.getYPos() + getDropDistance();
 	}
 	
 	public void turnRight() {
-		controlling.rotateRight();
-		if (!checkValidState(0, 0)) {
-			if (checkValidState(0, -1)) {
-				controlling.moveUp();
-			} else if (checkValidState(-1, 0)) {
-				controlling.moveLeft();
-			} else if (checkValidState(1, 0)) {
-				controlling.moveRight();
-			} else {
-				controlling.rotateLeft();
-				return;
-			}
-		}
-		if (task != null) {
-			task.cancel();
-			task = null;
-		}
+		turn(false);
 	}
 	
 	public void fastPlace() {
-		while (checkValidState(0,1)) {
-			controlling.fall();
-		}
-		if (task == null) {
-			task = new TimerTask() {
-				@Override
-				public void run() {
-					place();
-				}
-			};
-			timer.schedule(task, DELAY);
-		}
+		controlling.fall(getDropDistance());
+		startLock();
 	}
 	
 	public long getScore() {
@@ -553,15 +1174,37 @@ public class GameBoard {
 	}
 	
 	public Tetrad getQueue() {
-		return queue;
+		return getQueue(0);
+	}
+	
+	/**
+	 * The tetrad that spawns after {@code index} more, 0 being the next one.
+	 */
+	public Tetrad getQueue(int index) {
+		return preview[(previewHead + index) % preview.length];
 	}
 	
 	public Tetrad getControlling() {
 		return controlling;
 	}
 	
-	public Tetrads[][] getField() {
-		return typeField;
+	private boolean isTrash(int row) {
+		return typeField[physical(row) * MAX_X] == TRASH;
+	}
+	
+	/**
+	 * Number of the board, unique within the process.
+	 */
+	public int getId() {
+		return id;
+	}
+	
+	public int getFieldWidth() {
+		return MAX_X;
+	}
+	
+	public int getFieldHeight() {
+		return MAX_Y;
 	}
 	
 	public boolean isRuning() {
@@ -572,13 +1215,4 @@ public class GameBoard {
 		return hold;
 	}
 	
-	public static void main(String[] args) {
-		GameBoard g = new GameBoard(new Timer());
-		g.fastPlace();
-		g.place();
-		for (int i = 0; i < 4; i++) {
-			g.addTrashLine();
-		}
-		System.out.println(g);
-	}
 }
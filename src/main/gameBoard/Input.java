@@ -0,0 +1,20 @@
+package main.gameBoard;
+
+/**
+ * Bits of the input mask passed to {@link GameBoard#step(int)}. A bit is set
+ * for every frame its button is held down.
+ */
+public final class Input {
+	
+	public static final int LEFT = 1;
+	public static final int RIGHT = 1 << 1;
+	public static final int SOFT_DROP = 1 << 2;
+	public static final int HARD_DROP = 1 << 3;
+	public static final int TURN_LEFT = 1 << 4;
+	public static final int TURN_RIGHT = 1 << 5;
+	public static final int HOLD = 1 << 6;
+	public static final int NUM_INPUTS = 7;
+	
+	private Input() {
+	}
+}
@@ -0,0 +1,156 @@
+package main.gameBoard;
+
+import java.awt.Color;
+
+import main.tetrads.Shape;
+import main.tetrads.ShapeRegistry;
+import main.tetrads.Tetrads;
+
+/**
+ * Everything needed to draw one frame of a game. Written by the game thread,
+ * and once published through {@link GameBoard#getSnapshot()} never changed
+ * until the renderer has moved on to a newer one.
+ */
+public final class Snapshot {
+	
+	/**
+	 * Input time of a frame that shows no input.
+	 */
+	public static final long NO_INPUT = Long.MIN_VALUE;
+	
+	final int width;
+	final int height;
+	final byte[] cells;
+	int fieldVersion;
+	
+	Shape controlling;
+	int controllingX;
+	int controllingY;
+	int controllingRotation;
+	int ghostY;
+	Shape[] preview;
+	Shape hold;
+	
+	long frame;
+	long score;
+	int level;
+	boolean running;
+	boolean paused;
+	long inputTime;
+	
+	Snapshot(int width, int height) {
+		this.width = width;
+		this.height = height;
+		cells = new byte[width * height];
+		fieldVersion = -1;
+		preview = new Shape[0];
+	}
+	
+	/**
+	 * Color of a cell type as stored in the field, or null if it is empty.
+	 */
+	public static Color colorOf(int type) {
+		if (type == 0) {
+			return null;
+		}
+		return (type == GameBoard.TRASH) ? Tetrads.TRASH.getColor() : ShapeRegistry.get(type - 1).getColor();
+	}
+	
+	/**
+	 * Cell type a shape is stored as in the field.
+	 */
+	public static int typeOf(Shape shape) {
+		return shape.getId() + 1;
+	}
+	
+	public int getWidth() {
+		return width;
+	}
+	
+	public int getHeight() {
+		return height;
+	}
+	
+	/**
+	 * Type of the cell at (row, col) as stored in the field, see {@link #colorOf(int)}.
+	 */
+	public byte getCell(int row, int col) {
+		return cells[row * width + col];
+	}
+	
+	/**
+	 * Changes whenever the cells of the field change.
+	 */
+	public int getFieldVersion() {
+		return fieldVersion;
+	}
+	
+	public Shape getControlling() {
+		return controlling;
+	}
+	
+	public int getControllingX() {
+		return controllingX;
+	}
+	
+	public int getControllingY() {
+		return controllingY;
+	}
+	
+	public int getControllingRotation() {
+		return controllingRotation;
+	}
+	
+	/**
+	 * Row the controlled tetrad would land on.
+	 */
+	public int getGhostY() {
+		return ghostY;
+	}
+	
+	public int getPreviewSize() {
+		return preview.length;
+	}
+	
+	public Shape getQueue(int index) {
+		return preview[index];
+	}
+	
+	/**
+	 * The held shape, or null.
+	 */
+	public Shape getHolding() {
+		return hold;
+	}
+	
+	/**
+	 * Number of frames the game had been stepped when the snapshot was taken.
+	 */
+	public long getFrame() {
+		return frame;
+	}
+	
+	public long getScore() {
+		return score;
+	}
+	
+	public int getLevel() {
+		return level;
+	}
+	
+	public boolean isRunning() {
+		return running;
+	}
+	
+	public boolean isPaused() {
+		return paused;
+	}
+	
+	/**
+	 * Time the oldest input shown by this frame and not yet presented was
+	 * given at, or {@link #NO_INPUT}.
+	 */
+	public long getInputTime() {
+		return inputTime;
+	}
+}
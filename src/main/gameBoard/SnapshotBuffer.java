@@ -0,0 +1,51 @@
+package main.gameBoard;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Three snapshots handed between one writer and one reader without locks.
+ * The writer fills its back buffer and swaps it with the middle one, the
+ * reader swaps its front buffer with the middle one whenever that holds a
+ * newer frame. Neither side ever sees a buffer the other is using.
+ */
+class SnapshotBuffer {
+	
+	private static final int DIRTY = 4;
+	private static final int INDEX = 3;
+	
+	private final Snapshot[] snapshots;
+	private final AtomicInteger middle;
+	private int back;
+	private int front;
+	
+	SnapshotBuffer(int width, int height) {
+		snapshots = new Snapshot[3];
+		for (int i = 0; i < snapshots.length; i++) {
+			snapshots[i] = new Snapshot(width, height);
+		}
+		front = 0;
+		middle = new AtomicInteger(1);
+		back = 2;
+	}
+	
+	/**
+	 * Buffer for the writer to fill, only called by the writing thread.
+	 */
+	Snapshot back() {
+		return snapshots[back];
+	}
+	
+	void publish() {
+		back = middle.getAndSet(back | DIRTY) & INDEX;
+	}
+	
+	/**
+	 * Newest published snapshot, only called by the reading thread.
+	 */
+	Snapshot latest() {
+		if ((middle.get() & DIRTY) != 0) {
+			front = middle.getAndSet(front) & INDEX;
+		}
+		return snapshots[front];
+	}
+}
@@ -0,0 +1,120 @@
+package main.gui;
+
+import java.awt.Canvas;
+import java.awt.Color;
+import java.awt.Frame;
+import java.awt.Graphics;
+import java.awt.Image;
+import java.awt.Toolkit;
+import java.awt.Window;
+import java.awt.image.BufferStrategy;
+
+import javax.swing.SwingUtilities;
+
+import main.gameBoard.GameBoard;
+import main.gameBoard.Snapshot;
+import main.stats.PaintEvent;
+import main.tetrads.Shape;
+
+/**
+ * Field drawn by the game thread itself into a page flipped
+ * {@link BufferStrategy}, so a frame is on screen as soon as it was played
+ * instead of whenever Swing gets to the repaint.
+ */
+public class ActiveFieldGUI extends Canvas implements FieldView {
+	
+	private static final long serialVersionUID = -3361410823377312548L;
+	private static final int BUFFERS = 2;
+	private GameBoard board;
+	private final BlockAtlas atlas = new BlockAtlas();
+	
+	public ActiveFieldGUI(GameBoard b) {
+		super();
+		board = b;
+		setIgnoreRepaint(true);
+	}
+	
+	@Override
+	public int getSquareSize() {
+		return getHeight() / (board.getFieldHeight() - FieldGUI.HIDDEN_ROWS);
+	}
+	
+	@Override
+	public int getXPadding() {
+		return FieldGUI.X_PADDING;
+	}
+	
+	@Override
+	public int getYPadding() {
+		return FieldGUI.Y_PADDING;
+	}
+	
+	/**
+	 * Draws the frame just played and shows it. Nothing is drawn while the
+	 * window is hidden or minimized.
+	 */
+	@Override
+	public void update() {
+		if (!isDrawable()) {
+			return;
+		}
+		BufferStrategy strategy = getBufferStrategy();
+		if (strategy == null) {
+			createBufferStrategy(BUFFERS);
+			strategy = getBufferStrategy();
+		}
+		Snapshot frame = board.getPublished();
+		PaintEvent event = new PaintEvent();
+		event.begin();
+		long start = board.getClock().nanoTime();
+		do {
+			do {
+				Graphics g = strategy.getDrawGraphics();
+				try {
+					render(g, frame);
+				} finally {
+					g.dispose();
+				}
+			} while (strategy.contentsRestored());
+			strategy.show();
+		} while (strategy.contentsLost());
+		Toolkit.getDefaultToolkit().sync();
+		board.getStats().getPaintDuration().record(board.getClock().nanoTime() - start);
+		if (event.shouldCommit()) {
+			event.board = board.getId();
+			event.component = "field";
+			event.commit();
+		}
+		board.presented(frame.getInputTime());
+	}
+	
+	private boolean isDrawable() {
+		if (!isDisplayable() || !isShowing() || getWidth() <= 0 || getHeight() <= 0) {
+			return false;
+		}
+		Window window = SwingUtilities.getWindowAncestor(this);
+		return !(window instanceof Frame) || (((Frame) window).getExtendedState() & Frame.ICONIFIED) == 0;
+	}
+	
+	private void render(Graphics g, Snapshot frame) {
+		int squareSize = getSquareSize();
+		g.setColor(getBackground());
+		g.fillRect(0, 0, getWidth(), getHeight());
+		g.setColor(Color.BLACK);
+		g.drawRect(0, 0, frame.getWidth() * squareSize + FieldGUI.X_PADDING, getHeight());
+		atlas.setSize(squareSize - FieldGUI.X_PADDING, squareSize - FieldGUI.Y_PADDING, getGraphicsConfiguration());
+		for (int row = FieldGUI.HIDDEN_ROWS; row < frame.getHeight(); row++) {
+			for (int col = 0; col < frame.getWidth(); col++) {
+				Image block = atlas.getBlock(frame.getCell(row, col));
+				if (block != null) {
+					FieldGUI.paintSquare(g, block, col, row, squareSize);
+				}
+			}
+		}
+		Shape controlling = frame.getControlling();
+		int rotation = frame.getControllingRotation();
+		FieldGUI.paintTetrad(g, atlas, controlling, rotation, frame.getControllingX(), frame.getControllingY(), squareSize, true);
+		
+		FieldGUI.paintTetrad(g, atlas, controlling, rotation, frame.getControllingX(), frame.getGhostY(), squareSize, false);
+	}
+}
@@ -0,0 +1,89 @@
+package main.gui;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+
+import main.gameBoard.Snapshot;
+import main.tetrads.Shape;
+import main.tetrads.ShapeRegistry;
+
+/**
+ * Pre-rendered images of a block of every cell type, filled and as a ghost
+ * outline, so a cell is drawn with a single blit. The images are only
+ * rendered again when the block size changes.
+ */
+final class BlockAtlas {
+	
+	private int width;
+	private int height;
+	private GraphicsConfiguration configuration;
+	private BufferedImage[] blocks;
+	private BufferedImage[] ghosts;
+	
+	BlockAtlas() {
+		width = -1;
+		height = -1;
+		blocks = new BufferedImage[ShapeRegistry.size() + 2];
+		ghosts = new BufferedImage[blocks.length];
+	}
+	
+	/**
+	 * Makes the blocks {@code width} x {@code height} pixels, rendering them
+	 * again if their size or the screen they are drawn on changed.
+	 *
+	 * @param configuration screen the images are drawn on, or null if unknown
+	 */
+	void setSize(int width, int height, GraphicsConfiguration configuration) {
+		if (width == this.width && height == this.height && configuration == this.configuration) {
+			return;
+		}
+		this.width = width;
+		this.height = height;
+		this.configuration = configuration;
+		for (int i = 0; i < blocks.length; i++) {
+			Color color = Snapshot.colorOf(i - 1);
+			if (color == null) {
+				continue;
+			}
+			blocks[i] = createImage(width, height);
+			Graphics2D g = blocks[i].createGraphics();
+			g.setColor(color);
+			g.fillRect(0, 0, width, height);
+			g.dispose();
+			// an outline covers one pixel more than the area it surrounds
+			ghosts[i] = createImage(width + 1, height + 1);
+			g = ghosts[i].createGraphics();
+			g.setColor(color);
+			g.drawRect(0, 0, width, height);
+			g.dispose();
+		}
+	}
+	
+	private BufferedImage createImage(int width, int height) {
+		width = Math.max(width, 1);
+		height = Math.max(height, 1);
+		if (configuration != null) {
+			return configuration.createCompatibleImage(width, height, Transparency.TRANSLUCENT);
+		}
+		return new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+	}
+	
+	/**
+	 * Filled block of a cell type as stored in the field, or null for an
+	 * empty cell.
+	 */
+	BufferedImage getBlock(int type) {
+		return blocks[type + 1];
+	}
+	
+	BufferedImage getBlock(Shape shape) {
+		return getBlock(Snapshot.typeOf(shape));
+	}
+	
+	BufferedImage getGhost(Shape shape) {
+		return ghosts[Snapshot.typeOf(shape) + 1];
+	}
+}
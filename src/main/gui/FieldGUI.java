@@ -2,81 +2,210 @@ package main.gui;
 
 import java.awt.Component;
 import java.awt.Graphics;
+import java.awt.Image;
+import java.awt.Rectangle;
+
+import javax.swing.SwingUtilities;
 
 import main.gameBoard.GameBoard;
-import main.tetrads.Tetrad;
-import main.tetrads.Tetrads;
+import main.gameBoard.Snapshot;
+import main.stats.PaintEvent;
+import main.tetrads.Shape;
 
-public class FieldGUI extends Component{
+/**
+ * Draws the field from a copy of the last snapshot it was refreshed with.
+ * Every refresh compares the new snapshot against that copy and only
+ * repaints the cells that changed.
+ */
+public class FieldGUI extends Component implements FieldView {
 	private static final long serialVersionUID = 6077438996961152317L;
 	private GameBoard board;
-	private static final int X_PADDING = 2;
-	private static final int Y_PADDING = 2;
+	static final int X_PADDING = 2;
+	static final int Y_PADDING = 2;
+	/**
+	 * Rows above the field that are never drawn.
+	 */
+	static final int HIDDEN_ROWS = 2;
+	
+	private final int width;
+	private final int height;
+	private final byte[] cells;
+	private int fieldVersion;
+	private Shape controlling;
+	private int controllingX;
+	private int controllingY;
+	private int controllingRotation;
+	private int ghostY;
+	private long paintInputTime;
+	private final BlockAtlas atlas = new BlockAtlas();
+	
+	private int dirtyMinCol;
+	private int dirtyMinRow;
+	private int dirtyMaxCol;
+	private int dirtyMaxRow;
+	private final Runnable refresh = this::refresh;
 	
 	public FieldGUI(GameBoard b) {
 		super();
 		board = b;
+		width = b.getFieldWidth();
+		height = b.getFieldHeight();
+		cells = new byte[width * height];
+		fieldVersion = -1;
+		paintInputTime = Snapshot.NO_INPUT;
+		clearDirty();
 	}
 	
+	@Override
 	public int getSquareSize() {
-		return getHeight() / (board.getField().length - 2);
+		return getHeight() / (board.getFieldHeight() - HIDDEN_ROWS);
 	}
 	
+	@Override
 	public int getXPadding() {
 		return X_PADDING;
 	}
 	
+	@Override
 	public int getYPadding() {
 		return Y_PADDING;
 	}
 	
+	/**
+	 * Asks for the newest snapshot to be drawn. May be called from any thread,
+	 * the comparison runs on the event dispatch thread.
+	 */
+	@Override
+	public void update() {
+		SwingUtilities.invokeLater(refresh);
+	}
+	
+	private void refresh() {
+		Snapshot frame = board.getSnapshot();
+		if (frame.getFieldVersion() != fieldVersion) {
+			for (int row = HIDDEN_ROWS; row < height; row++) {
+				for (int col = 0; col < width; col++) {
+					byte type = frame.getCell(row, col);
+					if (cells[row * width + col] != type) {
+						cells[row * width + col] = type;
+						markDirty(col, row, 1, 1);
+					}
+				}
+			}
+			fieldVersion = frame.getFieldVersion();
+		}
+		Shape shape = frame.getControlling();
+		if (shape != controlling || frame.getControllingX() != controllingX || frame.getControllingY() != controllingY ||
+			frame.getControllingRotation() != controllingRotation || frame.getGhostY() != ghostY) {
+			markTetrad();
+			controlling = shape;
+			controllingX = frame.getControllingX();
+			controllingY = frame.getControllingY();
+			controllingRotation = frame.getControllingRotation();
+			ghostY = frame.getGhostY();
+			markTetrad();
+		}
+		long inputTime = frame.getInputTime();
+		if (dirtyMinCol < dirtyMaxCol && dirtyMinRow < dirtyMaxRow) {
+			if (paintInputTime == Snapshot.NO_INPUT) {
+				paintInputTime = inputTime;
+			}
+			int squareSize = getSquareSize();
+			repaint(dirtyMinCol * squareSize, (dirtyMinRow - HIDDEN_ROWS) * squareSize,
+					(dirtyMaxCol - dirtyMinCol) * squareSize + X_PADDING + 1,
+					(dirtyMaxRow - dirtyMinRow) * squareSize + Y_PADDING + 1);
+			clearDirty();
+		} else if (paintInputTime == Snapshot.NO_INPUT) {
+			// nothing to draw, the input shows as it is
+			board.presented(inputTime);
+		}
+	}
+	
+	/**
+	 * Marks the boxes of the controlled tetrad and its ghost.
+	 */
+	private void markTetrad() {
+		if (controlling != null) {
+			int size = controlling.getSize();
+			markDirty(controllingX, controllingY, size, size);
+			markDirty(controllingX, ghostY, size, size);
+		}
+	}
+	
+	private void markDirty(int col, int row, int cols, int rows) {
+		dirtyMinCol = Math.max(0, Math.min(dirtyMinCol, col));
+		dirtyMinRow = Math.max(HIDDEN_ROWS, Math.min(dirtyMinRow, row));
+		dirtyMaxCol = Math.min(width, Math.max(dirtyMaxCol, col + cols));
+		dirtyMaxRow = Math.min(height, Math.max(dirtyMaxRow, row + rows));
+	}
+	
+	private void clearDirty() {
+		dirtyMinCol = width;
+		dirtyMinRow = height;
+		dirtyMaxCol = 0;
+		dirtyMaxRow = 0;
+	}
+	
 	@Override
 	public void paint(Graphics g) {
-		Tetrads[][] field = board.getField();
-//		boolean[][] field = board.getColition();
+		PaintEvent event = new PaintEvent();
+		event.begin();
+		long start = board.getClock().nanoTime();
 		int squareSize = getSquareSize();
-		int xPadding = X_PADDING;
-		int yPadding = Y_PADDING;
-		g.drawRect(0, 0, field[0].length * squareSize + xPadding, getHeight());
-		for (int row = 2; row < field.length; row++) {
-			for (int col = 0; col < field[0].length; col++) {
-				if (field[row][col] != null) {
-//				if (field[row][col]) {
-					g.setColor(field[row][col].getColor());
-//					g.setColor(Color.BLACK);
-					g.fillRect(col * (squareSize) + xPadding,
-							  (row - 2) * (squareSize) + yPadding,
-							  squareSize - xPadding, squareSize - yPadding);
+		g.drawRect(0, 0, width * squareSize + X_PADDING, getHeight());
+		if (squareSize <= 0) {
+			return;
+		}
+		Rectangle clip = g.getClipBounds();
+		if (clip == null) {
+			clip = new Rectangle(0, 0, getWidth(), getHeight());
+		}
+		int fromCol = Math.max(0, clip.x / squareSize - 1);
+		int toCol = Math.min(width, (clip.x + clip.width) / squareSize + 1);
+		int fromRow = Math.max(HIDDEN_ROWS, clip.y / squareSize + HIDDEN_ROWS - 1);
+		int toRow = Math.min(height, (clip.y + clip.height) / squareSize + HIDDEN_ROWS + 1);
+		atlas.setSize(squareSize - X_PADDING, squareSize - Y_PADDING, getGraphicsConfiguration());
+		for (int row = fromRow; row < toRow; row++) {
+			for (int col = fromCol; col < toCol; col++) {
+				Image block = atlas.getBlock(cells[row * width + col]);
+				if (block != null) {
+					paintSquare(g, block, col, row, squareSize);
 				}
 			}
 		}
-		Tetrad controlling = board.getControlling();
-		paintTetrad(g, controlling, true);
-		
-		Tetrad ghost = board.getPlacement();
-		paintTetrad(g, ghost, false);
+		if (controlling != null) {
+			paintTetrad(g, atlas, controlling, controllingRotation, controllingX, controllingY, squareSize, true);
+			
+			paintTetrad(g, atlas, controlling, controllingRotation, controllingX, ghostY, squareSize, false);
+		}
+		board.getStats().getPaintDuration().record(board.getClock().nanoTime() - start);
+		if (paintInputTime != Snapshot.NO_INPUT) {
+			board.presented(paintInputTime);
+			paintInputTime = Snapshot.NO_INPUT;
+		}
+		if (event.shouldCommit()) {
+			event.board = board.getId();
+			event.component = "field";
+			event.commit();
+		}
 	}
 	
-	private void paintTetrad(Graphics g, Tetrad t, boolean fill) {
-		boolean[][] orien = t.getOrientation();
-		int xPos = t.getXPos();
-		int yPos = t.getYPos();
-		int squareSize = getSquareSize();
-		g.setColor(t.getType().getColor());
+	static void paintTetrad(Graphics g, BlockAtlas atlas, Shape shape, int rotation, int xPos, int yPos, int squareSize, boolean fill) {
+		boolean[][] orien = shape.getRotation(rotation);
+		Image block = (fill) ? atlas.getBlock(shape) : atlas.getGhost(shape);
 		for (int x = xPos; x < xPos + orien[0].length; x++) {
 			for (int y = yPos; y < yPos + orien.length; y++) {
 				if (orien[y - yPos][x - xPos]) {
-					if (fill) {
-						g.fillRect(x * (squareSize) + X_PADDING,
-								  (y - 2) * (squareSize) + Y_PADDING,
-								  squareSize - X_PADDING, squareSize - Y_PADDING);
-					} else {
-						g.drawRect(x * (squareSize) + X_PADDING,
-								  (y - 2) * (squareSize) + Y_PADDING,
-								  squareSize - X_PADDING, squareSize - Y_PADDING);
-					}
+					paintSquare(g, block, x, y, squareSize);
 				}
 			}
 		}
 	}
+	
+	/**
+	 * Draws a block of the atlas at (row, col) of the field.
+	 */
+	static void paintSquare(Graphics g, Image block, int col, int row, int squareSize) {
+		g.drawImage(block, col * (squareSize) + X_PADDING, (row - HIDDEN_ROWS) * (squareSize) + Y_PADDING, null);
+	}
 }
@@ -0,0 +1,18 @@
+package main.gui;
+
+/**
+ * Draws the field of one board inside a {@link GameGUI}.
+ */
+public interface FieldView {
+	
+	int getSquareSize();
+	
+	int getXPadding();
+	
+	int getYPadding();
+	
+	/**
+	 * Called by the game thread after every frame.
+	 */
+	void update();
+}
@@ -1,60 +1,80 @@
 package main.gui;
 
+import java.awt.Component;
 import java.awt.Dimension;
-import java.util.Timer;
 
 import javax.swing.Box;
 import javax.swing.BoxLayout;
 import javax.swing.JPanel;
 
 import main.gameBoard.GameBoard;
+import main.tetrads.Shape;
 import main.tetrads.Tetrad;
 
 public class GameGUI extends JPanel{
 	
 	private static final long serialVersionUID = 5223523654499038529L;
-	private FieldGUI field;
+	private FieldView field;
 	private InfoGUI info;
-	private Tetrad lastQueue;
-	private Tetrad lastHold;
+	private Shape lastQueue;
+	private Shape lastHold;
+	private int lastLevel;
+	private long lastScore;
 	private GameBoard game;
 	
-	public GameGUI(GameBoard g, Timer t, int width, int height, boolean inverted, boolean multiplayer) {
-		init(g, t, (multiplayer) ? width : (int) Math.round(width * .75), height);
-		int sqareSize = height/(g.getField().length - 2);
-		int padding = (multiplayer) ? (int) (width - (sqareSize * 10) - info.getPreferredSize().getWidth()) : 10;
+	/**
+	 * @param active true to have the game thread draw the field itself, see {@link ActiveFieldGUI}
+	 */
+	public GameGUI(GameBoard g, int width, int height, boolean inverted, boolean multiplayer, boolean active) {
+		init(g, (multiplayer) ? width : (int) Math.round(width * .75), height, active);
+		int sqareSize = height/(g.getFieldHeight() - 2);
+		int padding = (multiplayer) ? (int) (width - (sqareSize * g.getFieldWidth()) - info.getPreferredSize().getWidth()) : 10;
 		if (inverted) {
-			add(field);
+			add((Component) field);
 			add(Box.createRigidArea(new Dimension(padding, 0)));
 			add(info);
 		} else {
 			add(info);
 			add(Box.createRigidArea(new Dimension(padding, 0)));
-			add(field);
+			add((Component) field);
 		}
 	}
 	
-	private void init(GameBoard g, Timer t, int width, int height) {
+	private void init(GameBoard g, int width, int height, boolean active) {
 		game = g;
 		
-		field = new FieldGUI(g);
+		field = (active) ? new ActiveFieldGUI(g) : new FieldGUI(g);
 		info = new InfoGUI(g, field, field.getXPadding(), field.getYPadding());
 
 		setLayout(new BoxLayout(this, BoxLayout.X_AXIS));
 		info.setPreferredSize(new Dimension((int) Math.round(width * 0.4), height));
 		info.setMaximumSize(info.getPreferredSize());
 		
-		lastQueue = g.getQueue();
-		lastHold = g.getHolding();
+		lastQueue = g.getQueue().getShape();
+		lastHold = shapeOf(g.getHolding());
+		lastLevel = g.getLevel();
+		lastScore = g.getScore();
 	}
 	
+	private static Shape shapeOf(Tetrad tetrad) {
+		return (tetrad != null) ? tetrad.getShape() : null;
+	}
+	
+	/**
+	 * Called by the game thread after every frame. Tetrads are dealt again
+	 * once played, so the info panel is compared by shape and numbers.
+	 */
 	public void update() {
-		if (lastQueue != game.getQueue() || lastHold != game.getHolding()) {
-			info.repaint();
-			lastQueue = game.getQueue();
-			lastHold = game.getHolding();
+		Shape queue = game.getQueue().getShape();
+		Shape held = shapeOf(game.getHolding());
+		if (queue != lastQueue || held != lastHold || game.getLevel() != lastLevel || game.getScore() != lastScore) {
+			info.update();
+			lastQueue = queue;
+			lastHold = held;
+			lastLevel = game.getLevel();
+			lastScore = game.getScore();
 		}
-		field.repaint();
+		field.update();
 	}
 	
 	public void setAppend(String append) {
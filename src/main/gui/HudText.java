@@ -0,0 +1,142 @@
+package main.gui;
+
+import java.awt.Dimension;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+
+import javax.swing.JComponent;
+import javax.swing.UIManager;
+
+/**
+ * Level and score of a game, followed by free text. The numbers are
+ * formatted into reused char buffers and only when they changed, the
+ * widths of the fixed labels are measured once per font.
+ */
+class HudText extends JComponent {
+	
+	private static final long serialVersionUID = 3785307271003254081L;
+	private static final char[] LEVEL = "Level: ".toCharArray();
+	private static final char[] SCORE = "Score:  ".toCharArray();
+	private static final int SCORE_DIGITS = 15;
+	private static final int MIN_LINES = 3;
+	
+	private final char[] level;
+	private final char[] score;
+	private int levelStart;
+	private int scoreStart;
+	private int lastLevel;
+	private long lastScore;
+	private volatile String[] append;
+	
+	private FontMetrics metrics;
+	private int levelWidth;
+	private int scoreWidth;
+	
+	HudText() {
+		// a long has at most 19 digits, grouped by three
+		level = new char[26];
+		score = new char[26];
+		lastLevel = -1;
+		lastScore = -1;
+		append = new String[0];
+		setFont(UIManager.getFont("Label.font"));
+		setAlignmentX(LEFT_ALIGNMENT);
+		setValues(0, 0);
+	}
+	
+	/**
+	 * Repaints the text if the level or the score changed.
+	 */
+	void setValues(int level, long score) {
+		if (level == lastLevel && score == lastScore) {
+			return;
+		}
+		if (level != lastLevel) {
+			levelStart = format(this.level, level, 1, false);
+			lastLevel = level;
+		}
+		if (score != lastScore) {
+			scoreStart = format(this.score, score, SCORE_DIGITS, true);
+			lastScore = score;
+		}
+		repaint();
+	}
+	
+	/**
+	 * Lines drawn below the score, separated by '\n'. May be called from
+	 * any thread.
+	 */
+	void setAppend(String text) {
+		String[] lines = text.isEmpty() ? new String[0] : text.split("\n");
+		boolean resize = lines.length != append.length;
+		append = lines;
+		if (resize) {
+			revalidate();
+		}
+		repaint();
+	}
+	
+	/**
+	 * Writes the digits of {@code value} right aligned into {@code buffer}
+	 * and returns the index of the first one.
+	 */
+	private static int format(char[] buffer, long value, int minDigits, boolean grouped) {
+		int i = buffer.length;
+		int digits = 0;
+		do {
+			if (grouped && digits > 0 && digits % 3 == 0) {
+				buffer[--i] = ' ';
+			}
+			buffer[--i] = (char) ('0' + value % 10);
+			value /= 10;
+			digits++;
+		} while (value > 0 || digits < minDigits);
+		return i;
+	}
+	
+	private FontMetrics getMetrics() {
+		if (metrics == null || metrics.getFont() != getFont()) {
+			metrics = getFontMetrics(getFont());
+			levelWidth = metrics.charsWidth(LEVEL, 0, LEVEL.length);
+			scoreWidth = metrics.charsWidth(SCORE, 0, SCORE.length);
+		}
+		return metrics;
+	}
+	
+	@Override
+	public Dimension getPreferredSize() {
+		if (isPreferredSizeSet()) {
+			return super.getPreferredSize();
+		}
+		FontMetrics metrics = getMetrics();
+		int width = scoreWidth + metrics.charWidth('0') * score.length;
+		for (String line : append) {
+			width = Math.max(width, metrics.stringWidth(line));
+		}
+		int lines = Math.max(MIN_LINES, 2 + append.length);
+		return new Dimension(width, lines * metrics.getHeight());
+	}
+	
+	@Override
+	public Dimension getMaximumSize() {
+		return getPreferredSize();
+	}
+	
+	@Override
+	protected void paintComponent(Graphics g) {
+		FontMetrics metrics = getMetrics();
+		int lineHeight = metrics.getHeight();
+		int y = metrics.getAscent();
+		g.setFont(getFont());
+		g.setColor(getForeground());
+		g.drawChars(LEVEL, 0, LEVEL.length, 0, y);
+		g.drawChars(level, levelStart, level.length - levelStart, levelWidth, y);
+		y += lineHeight;
+		g.drawChars(SCORE, 0, SCORE.length, 0, y);
+		g.drawChars(score, scoreStart, score.length - scoreStart, scoreWidth, y);
+		for (String line : append) {
+			y += lineHeight;
+			g.drawString(line, 0, y);
+		}
+	}
+}
@@ -3,17 +3,18 @@ package main.gui;
 import java.awt.Color;
 import java.awt.Font;
 import java.awt.Graphics;
-import java.text.DecimalFormat;
-import java.text.NumberFormat;
-import java.util.Locale;
+import java.awt.Image;
 
 import javax.swing.BorderFactory;
 import javax.swing.BoxLayout;
 import javax.swing.JLabel;
 import javax.swing.JPanel;
+import javax.swing.SwingUtilities;
 
 import main.gameBoard.GameBoard;
-import main.tetrads.Tetrad;
+import main.gameBoard.Snapshot;
+import main.stats.PaintEvent;
+import main.tetrads.Shape;
 
 public class InfoGUI extends JPanel{
 	
@@ -21,10 +22,11 @@ public class InfoGUI extends JPanel{
 	private GameBoard board;
 	private TetradDisplayer queue;
 	private TetradDisplayer hold;
-	private JLabel text;
-	private String append;
+	private HudText text;
+	private final BlockAtlas atlas = new BlockAtlas();
+	private final Runnable refresh = this::refresh;
 	
-	public InfoGUI(GameBoard b, FieldGUI size, int xPadding, int yPadding) {
+	public InfoGUI(GameBoard b, FieldView size, int xPadding, int yPadding) {
 		super();
 		
 		board = b;
@@ -33,65 +35,69 @@ public class InfoGUI extends JPanel{
 		next.setFont(new Font(next.getFont().getName(), Font.PLAIN, 20));
 		add(next);
 		
-		queue = new TetradDisplayer(board.getQueue(), size, xPadding, yPadding);
+		Snapshot frame = board.getSnapshot();
+		queue = new TetradDisplayer(frame.getQueue(0), size, xPadding, yPadding);
 		queue.setBorder(BorderFactory.createLineBorder(Color.BLACK));
 		add(queue);
 		
-		String scoreText = new DecimalFormat("000 000 000 000").format(board.getScore());
-		text = new JLabel("<html>Level: " + board.getLevel() + "<br>Score: " + scoreText + "<br></html>");
+		text = new HudText();
+		text.setValues(frame.getLevel(), frame.getScore());
 		add(text);
 		
 		JLabel holdLabel = new JLabel("<html>Hold:</html>");
 		holdLabel.setFont(new Font(holdLabel.getFont().getName(), Font.PLAIN, 20));
 		add(holdLabel);
 		
-		hold = new TetradDisplayer(board.getHolding(), size, xPadding, yPadding);
+		hold = new TetradDisplayer(frame.getHolding(), size, xPadding, yPadding);
 		hold.setBorder(BorderFactory.createLineBorder(Color.BLACK));
 		add(hold);
-		
-		append = "";
-		
-		
-	}
-	
-	public void updateText() {
-		NumberFormat nf = NumberFormat.getNumberInstance(Locale.FRANCE);
-		DecimalFormat df = (DecimalFormat)nf;
-		df.applyPattern("000,000,000,000,000");
-		String scoreText = df.format(board.getScore());
-		text.setText("<html>Level: " + board.getLevel() + "<br>Score:  " + scoreText + "<br>" + append + "</html>");
 	}
 	
+	/**
+	 * Text shown below the score, lines separated by '\n'. May be called
+	 * from any thread.
+	 */
 	public void setAppend(String newAppend) {
-		append = newAppend;
+		text.setAppend(newAppend);
 	}
 	
-	public void updateQueue() {
-		queue.changeDisplayed(board.getQueue());
-	}
-	
-	public void updateHold() {
-		hold.changeDisplayed(board.getHolding());
+	/**
+	 * Asks for the newest snapshot to be shown. May be called from any
+	 * thread, only the parts that changed are repainted.
+	 */
+	public void update() {
+		SwingUtilities.invokeLater(refresh);
 	}
 	
 	@Override
 	public void paint(Graphics g) {
-		updateText();
-		updateQueue();
-		updateHold();
+		PaintEvent event = new PaintEvent();
+		event.begin();
 		super.paint(g);
+		if (event.shouldCommit()) {
+			event.board = board.getId();
+			event.component = "info";
+			event.commit();
+		}
+	}
+	
+	private void refresh() {
+		Snapshot frame = board.getSnapshot();
+		text.setValues(frame.getLevel(), frame.getScore());
+		queue.changeDisplayed(frame.getQueue(0));
+		hold.changeDisplayed(frame.getHolding());
 	}
 	
 	private class TetradDisplayer extends JPanel {
 
 		private static final long serialVersionUID = 1L;
 		
-		private Tetrad toDisplay;
-		private FieldGUI size;
+		private Shape toDisplay;
+		private FieldView size;
 		private int xPadding;
 		private int yPadding;
 		
-		public TetradDisplayer(Tetrad toDisplay, FieldGUI size, int xPadding, int yPadding) {
+		public TetradDisplayer(Shape toDisplay, FieldView size, int xPadding, int yPadding) {
 			super();
 			this.toDisplay = toDisplay;
 			this.size = size;
@@ -105,24 +111,26 @@ public class InfoGUI extends JPanel{
 			if (toDisplay != null) {
 				int size = this.size.getSquareSize();
 				
-				boolean[][] orien = toDisplay.getOrientation();
+				boolean[][] orien = toDisplay.getRotation(0);
 				int startX =(int) (0.5 * (getWidth() - (orien[0].length * (size + xPadding))) / 2);
 				int startY = (getHeight() - (orien.length * (size + yPadding))) / 2;
-				g.setColor(toDisplay.getType().getColor());
+				atlas.setSize(size, size, getGraphicsConfiguration());
+				Image block = atlas.getBlock(toDisplay);
 				for (int x = 0; x < orien[0].length; x++) {
 					for (int y = 0; y < orien.length; y++) {
 						if (orien[y][x]) {
-							g.fillRect(startX + (size + xPadding) * x,
-									   startY + (size + yPadding) * y, size, size);
+							g.drawImage(block, startX + (size + xPadding) * x, startY + (size + yPadding) * y, null);
 						}
 					}
 				}
 			}
 		}
 		
-		public void changeDisplayed(Tetrad newQueue) {
-			toDisplay = newQueue;
-			repaint();
+		public void changeDisplayed(Shape newQueue) {
+			if (newQueue != toDisplay) {
+				toDisplay = newQueue;
+				repaint();
+			}
 		}
 		
 	}
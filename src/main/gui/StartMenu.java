@@ -13,8 +13,9 @@ import javax.swing.JFrame;
 import javax.swing.JOptionPane;
 import javax.swing.JPanel;
 
-import main.game.MainMultiPlayerThread;
-import main.game.MainSinglePlayerThread;
+import main.game.GameLoop;
+import main.game.MultiPlayerGame;
+import main.game.SinglePlayerGame;
 import main.gameBoard.GameBoard;
 import main.highscore.HighScore;
 
@@ -28,11 +29,12 @@ public class StartMenu extends JPanel {
 	private GameBoard player2;
 	private JFrame root;
 	private String[] args;
-	private Thread thread;
+	private GameLoop loop;
 	private HighScore score;
+	private boolean active;
 	
 	
-	public StartMenu(GameBoard player1, GameBoard player2, JFrame root, HighScore hscore, String[] args) {
+	public StartMenu(GameBoard player1, GameBoard player2, GameLoop loop, JFrame root, HighScore hscore, String[] args) {
 		setLayout(new BoxLayout(this, BoxLayout.Y_AXIS));
 		
 		JButton single = new JButton("Play Single Player");
@@ -71,6 +73,13 @@ public class StartMenu extends JPanel {
 		this.root = root;
 		this.score = hscore;
 		this.player2 = player2;
+		this.loop = loop;
+		active = false;
+		for (String s : args) {
+			if (s.toLowerCase().equals("active")) {
+				active = true;
+			}
+		}
 		
 		
 		
@@ -81,11 +90,10 @@ public class StartMenu extends JPanel {
 		player1.setOtherPlayer(null);
 		root.remove(this);
 		root.setSize(800, 600);
-		GameGUI gui = new GameGUI(player1, player1.getTimer(), 800, 600, false, false);
+		GameGUI gui = new GameGUI(player1, 800, 600, false, false, active);
 		root.add(gui);
-		thread = new MainSinglePlayerThread(gui, player1, player2, player1.getTimer(), root, score, args);
-		thread.start();
 		player1.start();
+		loop.restart(new SinglePlayerGame(gui, player1, player2, loop, root, score, args));
 		root.revalidate();
 		
 	}
@@ -98,12 +106,11 @@ public class StartMenu extends JPanel {
 		player2.setOtherPlayer(player1);
 		root.remove(this);
 		root.setSize(1075, 600);
-		TwoPlayerGameGUI gui = new TwoPlayerGameGUI(player1, player2, player1.getTimer(), 1075, 600);
+		TwoPlayerGameGUI gui = new TwoPlayerGameGUI(player1, player2, 1075, 600, active);
 		root.add(gui);
-		thread = new MainMultiPlayerThread(gui, player1, player2, player1.getTimer(), root, score, args);
-		thread.start();
 		player1.start();
 		player2.start();
+		loop.restart(new MultiPlayerGame(gui, player1, player2, loop, root, score, args));
 		root.revalidate();
 	}
 	
@@ -116,13 +123,7 @@ public class StartMenu extends JPanel {
 	}
 	
 	private void quitButtonClick() {
-		try {
-			if (thread != null) {
-				thread.join();
-			}
-		} catch (InterruptedException e) {
-			e.printStackTrace();
-		}
+		loop.stop();
 		root.dispatchEvent(new WindowEvent(root, WindowEvent.WINDOW_CLOSING));
 	}
 }
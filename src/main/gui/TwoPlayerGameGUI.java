@@ -1,13 +1,13 @@
 package main.gui;
 
 import java.awt.Dimension;
-import java.util.Timer;
 
 import javax.swing.Box;
 import javax.swing.BoxLayout;
 import javax.swing.JFrame;
 import javax.swing.JPanel;
 
+import main.clock.SystemClock;
 import main.gameBoard.GameBoard;
 
 public class TwoPlayerGameGUI extends JPanel {
@@ -16,9 +16,9 @@ public class TwoPlayerGameGUI extends JPanel {
 	private GameGUI player1;
 	private GameGUI player2;
 	
-	public TwoPlayerGameGUI(GameBoard pl1, GameBoard pl2, Timer t, int width, int height) {
-		player1 = new GameGUI(pl1, t, (int) Math.round(width/2D), height, false, true);
-		player2 = new GameGUI(pl2, t, (int) Math.round(width/2D), height, true, true);
+	public TwoPlayerGameGUI(GameBoard pl1, GameBoard pl2, int width, int height, boolean active) {
+		player1 = new GameGUI(pl1, (int) Math.round(width/2D), height, false, true, active);
+		player2 = new GameGUI(pl2, (int) Math.round(width/2D), height, true, true, active);
 		setLayout(new BoxLayout(this, BoxLayout.X_AXIS));
 		add(player1);
 		add(Box.createRigidArea(new Dimension(10, 0)));
@@ -40,9 +40,9 @@ public class TwoPlayerGameGUI extends JPanel {
 	
 	
 	public static void main(String[] args) {
-		Timer t = new Timer();
+		SystemClock clock = new SystemClock();
 		JFrame frame = new JFrame("Test");
-		TwoPlayerGameGUI gui = new TwoPlayerGameGUI(new GameBoard(t), new GameBoard(t), t, 1075, 600);
+		TwoPlayerGameGUI gui = new TwoPlayerGameGUI(new GameBoard(clock), new GameBoard(clock), 1075, 600, false);
 		frame.add(gui);
 		frame.setSize(1075, 600);
 		frame.setVisible(true);
@@ -0,0 +1,35 @@
+package main.randomizer;
+
+/**
+ * Deals every shape once in a shuffled order before starting a new bag.
+ */
+public class BagRandomizer extends BlockRandomizer {
+	
+	private final int[] bag;
+	private int index;
+	
+	public BagRandomizer(long seed, int numShapes) {
+		super(seed, numShapes);
+		bag = new int[numShapes];
+		for (int i = 0; i < numShapes; i++) {
+			bag[i] = i;
+		}
+		index = numShapes;
+	}
+	
+	@Override
+	protected void fill(int[] block) {
+		for (int i = 0; i < block.length; i++) {
+			if (index == bag.length) {
+				for (int j = bag.length - 1; j > 0; j--) {
+					int k = rand.nextInt(j + 1);
+					int temp = bag[j];
+					bag[j] = bag[k];
+					bag[k] = temp;
+				}
+				index = 0;
+			}
+			block[i] = bag[index++];
+		}
+	}
+}
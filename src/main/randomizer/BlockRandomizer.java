@@ -0,0 +1,38 @@
+package main.randomizer;
+
+import java.util.SplittableRandom;
+
+/**
+ * Randomizer that generates its sequence a block at a time, so the random
+ * number generation happens in bulk instead of once per spawned piece.
+ */
+public abstract class BlockRandomizer implements Randomizer {
+	
+	private static final int BLOCK_SIZE = 64;
+	
+	protected final SplittableRandom rand;
+	protected final int numShapes;
+	private final int[] block;
+	private int index;
+	
+	protected BlockRandomizer(long seed, int numShapes) {
+		rand = new SplittableRandom(seed);
+		this.numShapes = numShapes;
+		block = new int[BLOCK_SIZE];
+		index = BLOCK_SIZE;
+	}
+	
+	@Override
+	public int next() {
+		if (index == block.length) {
+			fill(block);
+			index = 0;
+		}
+		return block[index++];
+	}
+	
+	/**
+	 * Overwrites every entry of {@code block} with the next shape ids.
+	 */
+	protected abstract void fill(int[] block);
+}
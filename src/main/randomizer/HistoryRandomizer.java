@@ -0,0 +1,81 @@
+package main.randomizer;
+
+import main.tetrads.ShapeRegistry;
+
+/**
+ * Rerolls a shape that is among the last few dealt, the last of a fixed
+ * number of rolls being kept whatever it is. The first shape is rolled
+ * until it is one that may start a game, and it and the second shape are
+ * dealt outside the history.
+ */
+public class HistoryRandomizer extends BlockRandomizer {
+	
+	/**
+	 * Shapes dealt before the history is used.
+	 */
+	private static final int FREE_SHAPES = 2;
+	
+	private final int[] history;
+	private final int rolls;
+	private final boolean canStart;
+	private int oldest;
+	private int dealt;
+	
+	/**
+	 * @param history the shapes the history starts out with, -1 for none
+	 * @param rolls rolls per shape, counting the final one kept even if it is
+	 * in the history
+	 */
+	public HistoryRandomizer(long seed, int numShapes, int[] history, int rolls) {
+		super(seed, numShapes);
+		this.history = history.clone();
+		this.rolls = rolls;
+		boolean canStart = false;
+		for (int id = 0; id < numShapes; id++) {
+			canStart |= ShapeRegistry.get(id).canStart();
+		}
+		this.canStart = canStart;
+		oldest = 0;
+		dealt = 0;
+	}
+	
+	private boolean contains(int toTest) {
+		for (int i : history) {
+			if (i == toTest) {
+				return true;
+			}
+		}
+		return false;
+	}
+	
+	private int first() {
+		int tetNum = rand.nextInt(numShapes);
+		while (canStart && !ShapeRegistry.get(tetNum).canStart()) {
+			tetNum = rand.nextInt(numShapes);
+		}
+		return tetNum;
+	}
+	
+	private int roll() {
+		int tetNum = rand.nextInt(numShapes);
+		for (int tryNum = 1; tryNum < rolls && contains(tetNum); tryNum++) {
+			tetNum = rand.nextInt(numShapes);
+		}
+		history[oldest] = tetNum;
+		oldest = (oldest + 1) % history.length;
+		return tetNum;
+	}
+	
+	@Override
+	protected void fill(int[] block) {
+		for (int i = 0; i < block.length; i++, dealt++) {
+			if (dealt == 0) {
+				block[i] = first();
+			} else if (dealt < FREE_SHAPES) {
+				block[i] = rand.nextInt(numShapes);
+			} else {
+				block[i] = roll();
+			}
+		}
+	}
+}
@@ -0,0 +1,10 @@
+package main.randomizer;
+
+/**
+ * Source of the order in which shapes are dealt. Returns shape ids as used
+ * by {@link main.tetrads.ShapeRegistry}.
+ */
+public interface Randomizer {
+	
+	public int next();
+}
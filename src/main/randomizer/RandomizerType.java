@@ -0,0 +1,48 @@
+package main.randomizer;
+
+import main.tetrads.ShapeRegistry;
+
+public enum RandomizerType {
+	/**
+	 * The original randomizer: four shape history started with both snakes
+	 * twice, four rerolls and a fifth roll kept whatever it is.
+	 */
+	HISTORY,
+	/**
+	 * The same history with six rolls, as in TGM2.
+	 */
+	TGM,
+	/**
+	 * Every shape once per bag.
+	 */
+	BAG;
+	
+	public Randomizer create(long seed) {
+		switch (this) {
+		case TGM:
+			return new HistoryRandomizer(seed, ShapeRegistry.size(), startHistory(), 6);
+		case BAG:
+			return new BagRandomizer(seed, ShapeRegistry.size());
+		default:
+			return new HistoryRandomizer(seed, ShapeRegistry.size(), startHistory(), 5);
+		}
+	}
+	
+	private static int[] startHistory() {
+		int left = idOf("Left_snake");
+		int right = idOf("Right_snake");
+		return new int[] {left, left, right, right};
+	}
+	
+	/**
+	 * Id of a shape of Tetrads.xml, or -1 if there is none of that name.
+	 */
+	private static int idOf(String name) {
+		for (int id = 0; id < ShapeRegistry.size(); id++) {
+			if (ShapeRegistry.get(id).getName().equals(name)) {
+				return id;
+			}
+		}
+		return -1;
+	}
+}
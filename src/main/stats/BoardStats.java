@@ -0,0 +1,116 @@
+package main.stats;
+
+import main.clock.Clock;
+
+/**
+ * Counters and latencies of one game board. Only the thread playing the
+ * board counts pieces and lines, any thread may read them.
+ */
+public class BoardStats implements BoardStatsMBean {
+	
+	private final Clock clock;
+	private final Histogram inputToFrame;
+	private final Histogram inputToPresent;
+	private final Histogram lockToSpawn;
+	private final Histogram paintDuration;
+	private volatile long pieces;
+	private volatile long lines;
+	private volatile long startTime;
+	
+	public BoardStats(Clock clock) {
+		this.clock = clock;
+		inputToFrame = new Histogram();
+		inputToPresent = new Histogram();
+		lockToSpawn = new Histogram();
+		paintDuration = new Histogram();
+		startTime = clock.nanoTime();
+	}
+	
+	/**
+	 * Forgets everything counted and starts counting rates from now.
+	 */
+	public void reset() {
+		inputToFrame.reset();
+		inputToPresent.reset();
+		lockToSpawn.reset();
+		paintDuration.reset();
+		pieces = 0;
+		lines = 0;
+		startTime = clock.nanoTime();
+	}
+	
+	public void piecePlaced() {
+		pieces++;
+	}
+	
+	public void linesCleared(int count) {
+		lines += count;
+	}
+	
+	/**
+	 * Time from a button being reported to the frame that applies it, in
+	 * nanoseconds.
+	 */
+	public Histogram getInputToFrame() {
+		return inputToFrame;
+	}
+	
+	/**
+	 * Time from a button being reported to the first frame on screen that
+	 * shows it, in nanoseconds. Only the oldest input of a frame is counted.
+	 */
+	public Histogram getInputToPresent() {
+		return inputToPresent;
+	}
+	
+	/**
+	 * Time from a tetrad locking to the next one spawning, in nanoseconds.
+	 */
+	public Histogram getLockToSpawn() {
+		return lockToSpawn;
+	}
+	
+	/**
+	 * Time the field takes to draw, in nanoseconds.
+	 */
+	public Histogram getPaintDuration() {
+		return paintDuration;
+	}
+	
+	@Override
+	public long getPieces() {
+		return pieces;
+	}
+	
+	@Override
+	public long getLines() {
+		return lines;
+	}
+	
+	@Override
+	public double getPiecesPerSecond() {
+		return perSecond(pieces);
+	}
+	
+	@Override
+	public double getLinesPerSecond() {
+		return perSecond(lines);
+	}
+	
+	private double perSecond(long count) {
+		long elapsed = clock.nanoTime() - startTime;
+		return (elapsed > 0) ? count * 1e9 / elapsed : 0;
+	}
+	
+	/**
+	 * Registers the counters and every histogram as MBeans named after the
+	 * board.
+	 */
+	public void register(String board) {
+		Metrics.register("Board", board, this);
+		Metrics.register("Histogram", board + ".inputToFrame", inputToFrame);
+		Metrics.register("Histogram", board + ".inputToPresent", inputToPresent);
+		Metrics.register("Histogram", board + ".lockToSpawn", lockToSpawn);
+		Metrics.register("Histogram", board + ".paintDuration", paintDuration);
+	}
+}
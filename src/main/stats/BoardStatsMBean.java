@@ -0,0 +1,15 @@
+package main.stats;
+
+/**
+ * Management interface of {@link BoardStats}.
+ */
+public interface BoardStatsMBean {
+	
+	long getPieces();
+	
+	long getLines();
+	
+	double getPiecesPerSecond();
+	
+	double getLinesPerSecond();
+}
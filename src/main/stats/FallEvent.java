@@ -0,0 +1,25 @@
+package main.stats;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Gravity moving the controlled tetrad of a board down.
+ */
+@Name("tetris.Fall")
+@Label("Fall")
+@Category("Tetris")
+@Description("Gravity moving the controlled tetrad down")
+@Enabled(false)
+public class FallEvent extends Event {
+	
+	@Label("Board")
+	public int board;
+	
+	@Label("Rows")
+	public int rows;
+}
@@ -0,0 +1,137 @@
+package main.stats;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counts non-negative long values, such as durations in nanoseconds, in a
+ * fixed number of buckets. Every power of two is split into
+ * {@code SUB_BUCKETS} buckets, so a percentile is off by at most about 3%
+ * whatever the range of the values. Any thread may record and read.
+ */
+public class Histogram implements HistogramMBean {
+	
+	private static final int SUB_BITS = 5;
+	private static final int SUB_BUCKETS = 1 << SUB_BITS;
+	private static final int BUCKETS = (Long.SIZE - SUB_BITS) * SUB_BUCKETS;
+	
+	private final AtomicLongArray counts;
+	private final AtomicLong count;
+	private final AtomicLong sum;
+	private final AtomicLong max;
+	
+	public Histogram() {
+		counts = new AtomicLongArray(BUCKETS);
+		count = new AtomicLong();
+		sum = new AtomicLong();
+		max = new AtomicLong();
+	}
+	
+	/**
+	 * Adds a value, negative values count as 0.
+	 */
+	public void record(long value) {
+		value = Math.max(value, 0);
+		counts.incrementAndGet(indexOf(value));
+		count.incrementAndGet();
+		sum.addAndGet(value);
+		long highest = max.get();
+		while (value > highest && !max.compareAndSet(highest, value)) {
+			highest = max.get();
+		}
+	}
+	
+	private static int indexOf(long value) {
+		if (value < SUB_BUCKETS) {
+			return (int) value;
+		}
+		int shift = Long.SIZE - 1 - Long.numberOfLeadingZeros(value) - SUB_BITS;
+		return (shift + 1) * SUB_BUCKETS + (int) ((value >>> shift) - SUB_BUCKETS);
+	}
+	
+	/**
+	 * Largest value counted in a bucket.
+	 */
+	private static long highestOf(int index) {
+		if (index < SUB_BUCKETS) {
+			return index;
+		}
+		int shift = index / SUB_BUCKETS - 1;
+		long lowest = (long) (SUB_BUCKETS + index % SUB_BUCKETS) << shift;
+		return lowest + (1L << shift) - 1;
+	}
+	
+	@Override
+	public long getCount() {
+		return count.get();
+	}
+	
+	@Override
+	public long getMax() {
+		return max.get();
+	}
+	
+	@Override
+	public double getMean() {
+		long total = count.get();
+		return (total > 0) ? (double) sum.get() / total : 0;
+	}
+	
+	@Override
+	public long getP50() {
+		return getPercentile(50);
+	}
+	
+	@Override
+	public long getP99() {
+		return getPercentile(99);
+	}
+	
+	@Override
+	public long getP999() {
+		return getPercentile(99.9);
+	}
+	
+	/**
+	 * Value at or below which {@code percentile} percent of the values lie,
+	 * or 0 if nothing was recorded.
+	 */
+	public long getPercentile(double percentile) {
+		long total = count.get();
+		if (total == 0) {
+			return 0;
+		}
+		long rank = Math.max(1, (long) Math.ceil(total * percentile / 100));
+		long seen = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			seen += counts.get(i);
+			if (seen >= rank) {
+				return Math.min(highestOf(i), max.get());
+			}
+		}
+		return max.get();
+	}
+	
+	/**
+	 * Forgets every value. Values recorded at the same time may survive
+	 * partially.
+	 */
+	@Override
+	public void reset() {
+		for (int i = 0; i < BUCKETS; i++) {
+			counts.set(i, 0);
+		}
+		count.set(0);
+		sum.set(0);
+		max.set(0);
+	}
+	
+	/**
+	 * Median, 99th percentile and maximum in milliseconds.
+	 */
+	@Override
+	public String toString() {
+		return String.format("p50 %.2f ms, p99 %.2f ms, max %.2f ms (%d)", getPercentile(50) / 1e6,
+				getPercentile(99) / 1e6, getMax() / 1e6, getCount());
+	}
+}
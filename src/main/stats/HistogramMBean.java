@@ -0,0 +1,21 @@
+package main.stats;
+
+/**
+ * Management interface of a {@link Histogram}, values in the unit recorded.
+ */
+public interface HistogramMBean {
+	
+	long getCount();
+	
+	long getMax();
+	
+	double getMean();
+	
+	long getP50();
+	
+	long getP99();
+	
+	long getP999();
+	
+	void reset();
+}
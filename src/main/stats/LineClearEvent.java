@@ -0,0 +1,27 @@
+package main.stats;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * The rows a placed tetrad reached being checked, and the full ones
+ * removed. Committed for every placed tetrad, with 0 lines if none was
+ * full.
+ */
+@Name("tetris.LineClear")
+@Label("Line Clear")
+@Category("Tetris")
+@Description("Rows checked, and the full ones removed, after a tetrad was placed")
+@Enabled(false)
+public class LineClearEvent extends Event {
+	
+	@Label("Board")
+	public int board;
+	
+	@Label("Lines")
+	public int lines;
+}
@@ -0,0 +1,36 @@
+package main.stats;
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Publishes metrics as MBeans of the platform MBean server, so they can be
+ * watched with any JMX console while the game runs.
+ */
+public final class Metrics {
+	
+	public static final String DOMAIN = "tetris";
+	
+	private Metrics() {
+	}
+	
+	/**
+	 * Registers {@code bean} as {@code tetris:type=<type>,name=<name>},
+	 * replacing whatever was registered under that name before.
+	 */
+	public static void register(String type, String name, Object bean) {
+		try {
+			MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+			ObjectName objectName = new ObjectName(DOMAIN + ":type=" + type + ",name=" + ObjectName.quote(name));
+			if (server.isRegistered(objectName)) {
+				server.unregisterMBean(objectName);
+			}
+			server.registerMBean(bean, objectName);
+		} catch (JMException e) {
+			e.printStackTrace();
+		}
+	}
+}
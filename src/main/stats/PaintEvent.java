@@ -0,0 +1,25 @@
+package main.stats;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A component of a board being drawn.
+ */
+@Name("tetris.Paint")
+@Label("Paint")
+@Category("Tetris")
+@Description("Component of a board drawn")
+@Enabled(false)
+public class PaintEvent extends Event {
+	
+	@Label("Board")
+	public int board;
+	
+	@Label("Component")
+	public String component;
+}
@@ -0,0 +1,22 @@
+package main.stats;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A tetrad being locked into the field, including clearing lines and spawning the next one.
+ */
+@Name("tetris.Place")
+@Label("Place")
+@Category("Tetris")
+@Description("Tetrad locked into the field, lines cleared and next tetrad spawned")
+@Enabled(false)
+public class PlaceEvent extends Event {
+	
+	@Label("Board")
+	public int board;
+}
@@ -0,0 +1,25 @@
+package main.stats;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * One frame run by the game loop.
+ */
+@Name("tetris.Tick")
+@Label("Tick")
+@Category("Tetris")
+@Description("Frame run by the game loop")
+@Enabled(false)
+public class TickEvent extends Event {
+	
+	@Label("Lateness")
+	@Description("Time the frame started after it was due")
+	@Timespan
+	public long lateness;
+}
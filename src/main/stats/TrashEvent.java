@@ -0,0 +1,25 @@
+package main.stats;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Garbage lines sent by the other player being pushed into the field.
+ */
+@Name("tetris.Trash")
+@Label("Trash")
+@Category("Tetris")
+@Description("Garbage lines pushed into the field")
+@Enabled(false)
+public class TrashEvent extends Event {
+	
+	@Label("Board")
+	public int board;
+	
+	@Label("Lines")
+	public int lines;
+}
@@ -1,15 +0,0 @@
-package main.tetrads;
-
-
-public class Alpha extends Tetrad {
-	
-	public Alpha() {
-		super(3, 0, "ALPHA");
-	}
-
-	@Override
-	public Tetrads getType() {
-		return Tetrads.ALPHA;
-	}
-
-}
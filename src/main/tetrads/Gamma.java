@@ -1,16 +0,0 @@
-package main.tetrads;
-
-
-public class Gamma extends Tetrad {
-	
-	public Gamma() {
-		super(3, 0, "GAMMA");
-	}
-
-	@Override
-	public Tetrads getType() {
-		// TODO Auto-generated method stub
-		return Tetrads.GAMMA;
-	}
-
-}
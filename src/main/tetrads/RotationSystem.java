@@ -0,0 +1,55 @@
+package main.tetrads;
+
+/**
+ * Wall kicks tried, in order, when a tetrad is turned. Offsets are stored as
+ * (x, y) pairs in field coordinates, y growing downwards.
+ */
+public enum RotationSystem {
+	/**
+	 * Turn in place, else one step up, left or right.
+	 */
+	CLASSIC,
+	/**
+	 * The Super Rotation System kick tables.
+	 */
+	SRS;
+	
+	private static final int[] CLASSIC_KICKS = {0, 0, 0, -1, -1, 0, 1, 0};
+	
+	// indexed by [from * 2 + (clockwise ? 0 : 1)], states 0, R, 2, L
+	private static final int[][] SRS_KICKS = {
+		{0, 0, -1, 0, -1, -1, 0, 2, -1, 2},	// 0 -> R
+		{0, 0, 1, 0, 1, -1, 0, 2, 1, 2},	// 0 -> L
+		{0, 0, 1, 0, 1, 1, 0, -2, 1, -2},	// R -> 2
+		{0, 0, 1, 0, 1, 1, 0, -2, 1, -2},	// R -> 0
+		{0, 0, 1, 0, 1, -1, 0, 2, 1, 2},	// 2 -> L
+		{0, 0, -1, 0, -1, -1, 0, 2, -1, 2},	// 2 -> R
+		{0, 0, -1, 0, -1, 1, 0, -2, -1, -2},	// L -> 0
+		{0, 0, -1, 0, -1, 1, 0, -2, -1, -2},	// L -> 2
+	};
+	
+	private static final int[][] SRS_STRAIGHT_KICKS = {
+		{0, 0, -2, 0, 1, 0, -2, 1, 1, -2},	// 0 -> R
+		{0, 0, -1, 0, 2, 0, -1, -2, 2, 1},	// 0 -> L
+		{0, 0, -1, 0, 2, 0, -1, -2, 2, 1},	// R -> 2
+		{0, 0, 2, 0, -1, 0, 2, -1, -1, 2},	// R -> 0
+		{0, 0, 2, 0, -1, 0, 2, -1, -1, 2},	// 2 -> L
+		{0, 0, 1, 0, -2, 0, 1, 2, -2, -1},	// 2 -> R
+		{0, 0, 1, 0, -2, 0, 1, 2, -2, -1},	// L -> 0
+		{0, 0, -2, 0, 1, 0, -2, 1, 1, -2},	// L -> 2
+	};
+	
+	/**
+	 * Kicks for turning a tetrad of the given box size out of SRS state
+	 * {@code fromState}. Square like shapes are handled by {@link Shape}.
+	 */
+	int[] getKicks(int size, int fromState, boolean clockwise) {
+		switch (this) {
+		case SRS:
+			int index = fromState * 2 + (clockwise ? 0 : 1);
+			return (size == 4) ? SRS_STRAIGHT_KICKS[index] : SRS_KICKS[index];
+		default:
+			return CLASSIC_KICKS;
+		}
+	}
+}
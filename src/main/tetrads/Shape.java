@@ -0,0 +1,239 @@
+package main.tetrads;
+
+import java.awt.Color;
+
+/**
+ * Immutable description of one piece with all four rotation states
+ * precomputed. Instances are shared between every {@link Tetrad} of the shape.
+ *
+ * Every rotation is stored as a bit pattern where the cell at (row, col) is
+ * bit {@code row * MASK_STRIDE + col}, so shapes of up to 8x8 cells fit.
+ */
+public final class Shape {
+	
+	public static final int NUM_ROTATIONS = 4;
+	public static final int MASK_STRIDE = 8;
+	public static final int MAX_SIZE = 8;
+	public static final long ROW_MASK = (1L << MASK_STRIDE) - 1;
+	
+	private final int id;
+	private final String name;
+	private final Color color;
+	private final boolean canStart;
+	private final long[] masks;
+	private final byte[][] bottoms;
+	private final int[] leftCols;
+	private final int[] rightCols;
+	private final boolean[][][] rotations;
+	private final int[][][] kicks;
+	private final boolean rotates;
+	
+	/**
+	 * @param spawn the occupied cells of the spawn orientation, size x size
+	 * @param spawnState the SRS state (0, R, 2, L) of the spawn orientation
+	 * @param canStart false if the shape may not be the first of a game
+	 */
+	Shape(int id, String name, Color color, boolean[][] spawn, int spawnState, boolean canStart) {
+		if (spawn.length > MAX_SIZE) {
+			throw new IllegalArgumentException("'" + name + "' is larger than " + MAX_SIZE + "x" + MAX_SIZE);
+		}
+		this.id = id;
+		this.name = name;
+		this.color = color;
+		this.canStart = canStart;
+		masks = new long[NUM_ROTATIONS];
+		rotations = new boolean[NUM_ROTATIONS][][];
+		rotations[0] = spawn;
+		for (int i = 1; i < NUM_ROTATIONS; i++) {
+			rotations[i] = rotate(rotations[i - 1]);
+		}
+		bottoms = new byte[NUM_ROTATIONS][];
+		leftCols = new int[NUM_ROTATIONS];
+		rightCols = new int[NUM_ROTATIONS];
+		for (int i = 0; i < NUM_ROTATIONS; i++) {
+			masks[i] = toMask(rotations[i]);
+			bottoms[i] = toBottoms(masks[i], getSize());
+			leftCols[i] = minCol(masks[i]);
+			rightCols[i] = maxCol(masks[i]);
+		}
+		rotates = !isSquare();
+		kicks = new int[RotationSystem.values().length][NUM_ROTATIONS * 2][];
+		for (RotationSystem system : RotationSystem.values()) {
+			for (int from = 0; from < NUM_ROTATIONS; from++) {
+				kicks[system.ordinal()][from * 2] = createKicks(system, from, spawnState, true);
+				kicks[system.ordinal()][from * 2 + 1] = createKicks(system, from, spawnState, false);
+			}
+		}
+	}
+	
+	private int[] createKicks(RotationSystem system, int from, int spawnState, boolean left) {
+		// turning left moves the cells clockwise on screen
+		return system.getKicks(getSize(), (from + spawnState) % NUM_ROTATIONS, left);
+	}
+	
+	/**
+	 * True if every rotation has the same cells, only moved within the box.
+	 * Such shapes are never turned.
+	 */
+	private boolean isSquare() {
+		for (int i = 1; i < NUM_ROTATIONS; i++) {
+			if (normalize(masks[i]) != normalize(masks[0])) {
+				return false;
+			}
+		}
+		return true;
+	}
+	
+	private static long normalize(long mask) {
+		return mask >>> (minRow(mask) * MASK_STRIDE + minCol(mask));
+	}
+	
+	private static int minRow(long mask) {
+		return Long.numberOfTrailingZeros(mask) / MASK_STRIDE;
+	}
+	
+	private static long columns(long mask) {
+		long columns = 0;
+		for (int row = 0; row < MAX_SIZE; row++) {
+			columns |= rowBits(mask, row);
+		}
+		return columns;
+	}
+	
+	private static int minCol(long mask) {
+		return Long.numberOfTrailingZeros(columns(mask));
+	}
+	
+	private static int maxCol(long mask) {
+		return 63 - Long.numberOfLeadingZeros(columns(mask));
+	}
+	
+	private static boolean[][] rotate(boolean[][] orientation) {
+		int maxRow = orientation.length;
+		int maxCol = orientation[0].length;
+		boolean[][] rotated = new boolean[maxRow][maxCol];
+		for (int row = 0; row < maxRow; row++) {
+			for (int col = 0; col < maxCol; col++) {
+				rotated[col][maxCol-row-1] = orientation[row][col];
+			}
+		}
+		return rotated;
+	}
+	
+	private static long toMask(boolean[][] orientation) {
+		long mask = 0;
+		for (int row = 0; row < orientation.length; row++) {
+			for (int col = 0; col < orientation[0].length; col++) {
+				if (orientation[row][col]) {
+					mask |= 1L << (row * MASK_STRIDE + col);
+				}
+			}
+		}
+		return mask;
+	}
+	
+	private static byte[] toBottoms(long mask, int size) {
+		byte[] bottom = new byte[size];
+		for (int col = 0; col < size; col++) {
+			bottom[col] = -1;
+			for (int row = 0; row < size; row++) {
+				if (isSet(mask, row, col)) {
+					bottom[col] = (byte) row;
+				}
+			}
+		}
+		return bottom;
+	}
+	
+	/**
+	 * Returns the cells of one row of a mask, bit {@code col} set for every
+	 * occupied column.
+	 */
+	public static long rowBits(long mask, int row) {
+		return (mask >>> (row * MASK_STRIDE)) & ROW_MASK;
+	}
+	
+	public static boolean isSet(long mask, int row, int col) {
+		return (mask & (1L << (row * MASK_STRIDE + col))) != 0;
+	}
+	
+	/**
+	 * Position of the shape in Tetrads.xml, also used as its cell type.
+	 */
+	public int getId() {
+		return id;
+	}
+	
+	public String getName() {
+		return name;
+	}
+	
+	public Color getColor() {
+		return color;
+	}
+	
+	public boolean canStart() {
+		return canStart;
+	}
+	
+	/**
+	 * Side length of the square box the shape rotates in.
+	 */
+	public int getSize() {
+		return rotations[0].length;
+	}
+	
+	public long getMask(int rotation) {
+		return masks[rotation];
+	}
+	
+	/**
+	 * Lowest occupied row of a column of the mask, or -1 if the column is empty.
+	 */
+	public int getBottom(int rotation, int col) {
+		return bottoms[rotation][col];
+	}
+	
+	/**
+	 * Leftmost occupied column of a rotation.
+	 */
+	public int getLeftCol(int rotation) {
+		return leftCols[rotation];
+	}
+	
+	/**
+	 * Rightmost occupied column of a rotation.
+	 */
+	public int getRightCol(int rotation) {
+		return rightCols[rotation];
+	}
+	
+	/**
+	 * Rotation reached by turning out of {@code rotation}.
+	 */
+	public int getTurned(int rotation, boolean left) {
+		if (!rotates) {
+			return rotation;
+		}
+		return (left) ? (rotation + 1) % NUM_ROTATIONS : (rotation + NUM_ROTATIONS - 1) % NUM_ROTATIONS;
+	}
+	
+	/**
+	 * Kicks to try, as (x, y) pairs, when turning out of {@code rotation}.
+	 */
+	public int[] getKicks(RotationSystem system, int rotation, boolean left) {
+		return kicks[system.ordinal()][rotation * 2 + (left ? 0 : 1)];
+	}
+	
+	/**
+	 * Rotation {@code i} is the spawn orientation turned left {@code i} times.
+	 * The returned array is shared and must not be modified.
+	 */
+	public boolean[][] getRotation(int rotation) {
+		return rotations[rotation];
+	}
+	
+	public String toString() {
+		return name;
+	}
+}
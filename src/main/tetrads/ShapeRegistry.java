@@ -0,0 +1,114 @@
+package main.tetrads;
+
+import java.awt.Color;
+import java.io.InputStream;
+import java.util.ArrayList;
+
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+/**
+ * Parses Tetrads.xml once and hands out the shared {@link Shape} of every
+ * piece defined in it.
+ * 
+ * Every child of the root element is one piece, every child of a piece one
+ * occupied cell written as "row, col" of its spawn orientation. A piece may
+ * set the attributes size (side of its rotation box), color ("r, g, b"),
+ * spawn_state (its SRS state) and first="false".
+ */
+public final class ShapeRegistry {
+	
+	private static final Shape[] SHAPES = load(ShapeRegistry.class.getResourceAsStream("/Tetrads.xml"));
+	
+	private ShapeRegistry() {
+	}
+	
+	public static int size() {
+		return SHAPES.length;
+	}
+	
+	public static Shape get(int id) {
+		return SHAPES[id];
+	}
+	
+	public static Shape get(String name) {
+		for (Shape shape : SHAPES) {
+			if (shape.getName().equals(name)) {
+				return shape;
+			}
+		}
+		throw new IllegalArgumentException("'" + name + "' is not a valid type");
+	}
+	
+	private static Shape[] load(InputStream in) {
+		DocumentBuilderFactory dbFactory = DocumentBuilderFactory.newInstance();
+		Document doc = null;
+		try {
+			DocumentBuilder dBuilder = dbFactory.newDocumentBuilder();
+			doc = dBuilder.parse(in);
+		} catch (Exception e) {
+			e.printStackTrace();
+			System.exit(-1);
+		}
+		
+		doc.getDocumentElement().normalize();
+		
+		ArrayList<Shape> shapes = new ArrayList<Shape>();
+		NodeList pieces = doc.getDocumentElement().getChildNodes();
+		for (int i = 0; i < pieces.getLength(); i++) {
+			if (pieces.item(i).getNodeType() == Node.ELEMENT_NODE) {
+				shapes.add(createShape(shapes.size(), (Element) pieces.item(i)));
+			}
+		}
+		if (shapes.isEmpty() || shapes.size() >= Byte.MAX_VALUE) {
+			throw new IllegalArgumentException("Tetrads.xml must define between 1 and " + (Byte.MAX_VALUE - 1) + " pieces");
+		}
+		return shapes.toArray(new Shape[shapes.size()]);
+	}
+	
+	private static Shape createShape(int id, Element node) {
+		String name = node.getTagName();
+		ArrayList<int[]> cells = new ArrayList<int[]>();
+		int size = 0;
+		NodeList children = node.getChildNodes();
+		for (int i = 0; i < children.getLength(); i++) {
+			if (children.item(i).getNodeType() == Node.ELEMENT_NODE) {
+				String[] a = children.item(i).getTextContent().trim().split(",\\s*");
+				int[] cell = new int[] {Integer.parseInt(a[0]), Integer.parseInt(a[1])};
+				size = Math.max(size, Math.max(cell[0], cell[1]) + 1);
+				cells.add(cell);
+			}
+		}
+		if (!node.getAttribute("size").isEmpty()) {
+			size = Integer.parseInt(node.getAttribute("size"));
+		}
+		if (cells.isEmpty() || size > Shape.MAX_SIZE) {
+			throw new IllegalArgumentException("'" + name + "' must have between 1 and " +
+											   Shape.MAX_SIZE + "x" + Shape.MAX_SIZE + " cells");
+		}
+		boolean[][] orien = new boolean[size][size];
+		for (int[] cell : cells) {
+			orien[cell[0]][cell[1]] = true;
+		}
+		String state = node.getAttribute("spawn_state");
+		return new Shape(id, name, createColor(id, name, node.getAttribute("color")), orien,
+						 (state.isEmpty()) ? 0 : Integer.parseInt(state), !node.getAttribute("first").equals("false"));
+	}
+	
+	private static Color createColor(int id, String name, String value) {
+		if (!value.isEmpty()) {
+			String[] values = value.split(",\\s*");
+			return new Color(Integer.parseInt(values[0]), Integer.parseInt(values[1]), Integer.parseInt(values[2]));
+		}
+		try {
+			return Tetrads.valueOf(name.toUpperCase()).getColor();
+		} catch (IllegalArgumentException e) {
+			return Color.getHSBColor(id * 0.618034f, 0.8f, 0.95f);
+		}
+	}
+}
@@ -0,0 +1,132 @@
+package main.clock;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+public class TimingWheelTest {
+	
+	private static final int SLOTS = 8;
+	private static final int CAPACITY = 4;
+	
+	private final TimingWheel wheel = new TimingWheel(SLOTS, CAPACITY);
+	
+	/**
+	 * Advances until the next timer is due and returns its event, failing
+	 * if none is due within {@code frames}.
+	 */
+	private int nextDue(int frames) {
+		for (int i = 0; i <= frames; i++) {
+			int timer = wheel.poll();
+			if (timer != TimingWheel.NONE) {
+				return wheel.getEvent(timer);
+			}
+			wheel.advance();
+		}
+		throw new AssertionError("No timer due within " + frames + " frames");
+	}
+	
+	private void advanceTo(long frame) {
+		while (wheel.getFrame() < frame) {
+			assertEquals(TimingWheel.NONE, wheel.poll());
+			wheel.advance();
+		}
+	}
+	
+	@Test
+	public void firesOnItsDeadline() {
+		wheel.schedule(3, 0, 7);
+		advanceTo(3);
+		int timer = wheel.poll();
+		assertEquals(7, wheel.getEvent(timer));
+		assertEquals(3, wheel.getDeadline(timer));
+		assertEquals(TimingWheel.NONE, wheel.poll());
+	}
+	
+	@Test
+	public void firesAcrossTheEndOfTheWheel() {
+		advanceTo(SLOTS - 2);
+		wheel.schedule(SLOTS + 1, 0, 1);
+		// lands in the slot of the current frame
+		wheel.schedule(2 * SLOTS - 2, 0, 2);
+		advanceTo(SLOTS + 1);
+		assertEquals(1, nextDue(0));
+		advanceTo(2 * SLOTS - 2);
+		assertEquals(2, nextDue(0));
+	}
+	
+	@Test
+	public void waitsWholeTurnsForFarDeadlines() {
+		wheel.schedule(3 * SLOTS + 2, 0, 1);
+		wheel.schedule(2, 0, 2);
+		assertEquals(2, nextDue(2));
+		advanceTo(3 * SLOTS + 2);
+		assertEquals(1, nextDue(0));
+		assertEquals(3 * SLOTS + 2, wheel.getFrame());
+	}
+	
+	@Test
+	public void firesInScheduleOrder() {
+		wheel.schedule(5, 0, 1);
+		wheel.schedule(5 + SLOTS, 0, 2);
+		wheel.schedule(5, 0, 3);
+		advanceTo(5);
+		assertEquals(1, wheel.getEvent(wheel.poll()));
+		assertEquals(3, wheel.getEvent(wheel.poll()));
+		assertEquals(TimingWheel.NONE, wheel.poll());
+		advanceTo(5 + SLOTS);
+		assertEquals(2, nextDue(0));
+	}
+	
+	@Test
+	public void pastDeadlinesFireOnTheCurrentFrame() {
+		advanceTo(10);
+		int timer = wheel.schedule(4, 3, 1);
+		assertEquals(10, wheel.getDeadline(timer));
+		timer = wheel.poll();
+		assertEquals(3, wheel.getOwner(timer));
+		assertEquals(1, wheel.getEvent(timer));
+	}
+	
+	@Test
+	public void timersScheduledWhilePollingFireTheSameFrame() {
+		wheel.schedule(0, 0, 1);
+		assertEquals(1, wheel.getEvent(wheel.poll()));
+		wheel.schedule(wheel.getFrame(), 0, 2);
+		assertEquals(2, wheel.getEvent(wheel.poll()));
+	}
+	
+	@Test
+	public void cancelledTimersDoNotFire() {
+		int first = wheel.schedule(2, 0, 1);
+		wheel.schedule(2, 0, 2);
+		int last = wheel.schedule(2, 0, 3);
+		wheel.cancel(first);
+		wheel.cancel(last);
+		wheel.cancel(TimingWheel.NONE);
+		advanceTo(2);
+		assertEquals(2, wheel.getEvent(wheel.poll()));
+		assertEquals(TimingWheel.NONE, wheel.poll());
+	}
+	
+	@Test
+	public void reusesTheTimersItHandedOut() {
+		for (int round = 0; round < 3 * SLOTS; round++) {
+			for (int i = 0; i < CAPACITY; i++) {
+				wheel.schedule(wheel.getFrame() + i % 2, 0, i);
+			}
+			assertEquals(0, wheel.getEvent(wheel.poll()));
+			assertEquals(2, wheel.getEvent(wheel.poll()));
+			wheel.advance();
+			assertEquals(1, wheel.getEvent(wheel.poll()));
+			assertEquals(3, wheel.getEvent(wheel.poll()));
+		}
+	}
+	
+	@Test(expected = IllegalStateException.class)
+	public void refusesTimersOverCapacity() {
+		for (int i = 0; i <= CAPACITY; i++) {
+			wheel.schedule(i, 0, i);
+		}
+	}
+}
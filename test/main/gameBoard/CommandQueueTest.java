@@ -0,0 +1,97 @@
+package main.gameBoard;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class CommandQueueTest {
+	
+	private static final int CAPACITY = 8;
+	private static final int PRODUCERS = 4;
+	private static final int COMMANDS = 100000;
+	
+	@Test
+	public void pollsInOfferOrderWithTheirTimes() {
+		CommandQueue queue = new CommandQueue(CAPACITY);
+		for (int round = 0; round < 3; round++) {
+			for (int i = 0; i < CAPACITY; i++) {
+				assertTrue(queue.offer(round * CAPACITY + i, 1000 + i));
+			}
+			for (int i = 0; i < CAPACITY; i++) {
+				assertEquals(round * CAPACITY + i, queue.poll());
+				assertEquals(1000 + i, queue.getPolledTime());
+			}
+			assertEquals(CommandQueue.EMPTY, queue.poll());
+		}
+	}
+	
+	@Test
+	public void dropsCommandsWhileFull() {
+		CommandQueue queue = new CommandQueue(CAPACITY);
+		for (int i = 0; i < CAPACITY; i++) {
+			assertTrue(queue.offer(i, i));
+		}
+		assertFalse(queue.offer(CAPACITY, CAPACITY));
+		assertEquals(0, queue.poll());
+		assertTrue(queue.offer(CAPACITY + 1, CAPACITY + 1));
+		for (int i = 1; i < CAPACITY; i++) {
+			assertEquals(i, queue.poll());
+		}
+		assertEquals(CAPACITY + 1, queue.poll());
+		assertEquals(CommandQueue.EMPTY, queue.poll());
+	}
+	
+	@Test
+	public void clearThrowsAwayEverythingOffered() {
+		CommandQueue queue = new CommandQueue(CAPACITY);
+		for (int i = 0; i < CAPACITY; i++) {
+			queue.offer(i, i);
+		}
+		queue.clear();
+		assertEquals(CommandQueue.EMPTY, queue.poll());
+		assertTrue(queue.offer(42, 7));
+		assertEquals(42, queue.poll());
+		assertEquals(7, queue.getPolledTime());
+	}
+	
+	/**
+	 * Every producer offers its own numbered commands, stamped with their
+	 * number, while the consumer polls. Each producer's commands have to
+	 * come out once, in order and with their own time.
+	 */
+	@Test
+	public void keepsTheOrderOfEveryProducer() throws InterruptedException {
+		CommandQueue queue = new CommandQueue(CAPACITY);
+		Thread[] producers = new Thread[PRODUCERS];
+		for (int p = 0; p < PRODUCERS; p++) {
+			int producer = p;
+			producers[p] = new Thread(() -> {
+				for (int i = 0; i < COMMANDS; i++) {
+					while (!queue.offer(producer * COMMANDS + i, i)) {
+						Thread.yield();
+					}
+				}
+			});
+			producers[p].start();
+		}
+		int[] next = new int[PRODUCERS];
+		for (int polled = 0; polled < PRODUCERS * COMMANDS; ) {
+			int command = queue.poll();
+			if (command == CommandQueue.EMPTY) {
+				Thread.yield();
+				continue;
+			}
+			int producer = command / COMMANDS;
+			assertEquals(next[producer], command % COMMANDS);
+			assertEquals(next[producer], queue.getPolledTime());
+			next[producer]++;
+			polled++;
+		}
+		for (Thread producer : producers) {
+			producer.join();
+		}
+		assertEquals(CommandQueue.EMPTY, queue.poll());
+	}
+}
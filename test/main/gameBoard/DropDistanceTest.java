@@ -0,0 +1,152 @@
+package main.gameBoard;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import main.bench.RandomInput;
+import main.clock.FrameClock;
+import main.tetrads.Shape;
+import main.tetrads.ShapeRegistry;
+import main.tetrads.Tetrad;
+
+/**
+ * The drop distance read off the column skyline has to match moving the
+ * tetrad down row by row, after every change the skyline is kept up to date
+ * for instead of scanned again.
+ */
+public class DropDistanceTest {
+	
+	private static final long SEED = 0;
+	private static final byte TYPE = 1;
+	private static final int GAMES = 5;
+	/**
+	 * Pieces between two trash lines sent to the board while playing.
+	 */
+	private static final int TRASH_EVERY = 7;
+	
+	private final FrameClock clock = new FrameClock(GameBoard.FPS);
+	
+	private GameBoard board() {
+		GameBoard board = new GameBoard(clock);
+		board.reset(SEED);
+		return board;
+	}
+	
+	/**
+	 * Checks every shape in every rotation at every position it fits at.
+	 */
+	private static void assertDropDistances(GameBoard board) {
+		for (int id = 0; id < ShapeRegistry.size(); id++) {
+			Shape shape = ShapeRegistry.get(id);
+			for (int rotation = 0; rotation < Shape.NUM_ROTATIONS; rotation++) {
+				for (int x = -shape.getSize(); x < board.getFieldWidth(); x++) {
+					for (int y = -shape.getSize(); y < board.getFieldHeight(); y++) {
+						if (!board.checkValidState(shape, rotation, x, y)) {
+							continue;
+						}
+						int drop = 0;
+						while (board.checkValidState(shape, rotation, x, y + drop + 1)) {
+							drop++;
+						}
+						Tetrad tetrad = new Tetrad(shape, x, y);
+						tetrad.turn(rotation, 0, 0);
+						assertEquals(shape + " " + rotation + " at " + x + ", " + y, drop, board.dropDistance(tetrad));
+					}
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Fills the bottom rows with {@code rows}, the last one at the bottom.
+	 */
+	private static void setBottom(GameBoard board, long... rows) {
+		int height = board.getFieldHeight();
+		for (int i = 0; i < rows.length; i++) {
+			board.setRow(height - rows.length + i, rows[i], TYPE);
+		}
+	}
+	
+	@Test
+	public void emptyField() {
+		assertDropDistances(board());
+	}
+	
+	@Test
+	public void afterClearingRows() {
+		GameBoard board = board();
+		int height = board.getFieldHeight();
+		setBottom(board,
+				0b0000010000L,
+				0b1111111111L,
+				0b0110011001L,
+				0b1111111111L,
+				0b1011111111L,
+				0b1111111111L);
+		board.checkTetris(height - 6, height);
+		assertDropDistances(board);
+		// the tall column was cleared away down to its last cell
+		setBottom(board,
+				0b0000000001L,
+				0b0000000001L,
+				0b1111111111L,
+				0b1111111111L);
+		board.checkTetris(height - 4, height);
+		assertDropDistances(board);
+	}
+	
+	@Test
+	public void afterTrashLines() {
+		GameBoard board = board();
+		setBottom(board,
+				0b0000000100L,
+				0b0011000110L,
+				0b0111101111L);
+		for (int i = 0; i < 3; i++) {
+			board.addTrashLine();
+			assertDropDistances(board);
+		}
+	}
+	
+	@Test
+	public void afterTrashReachesTheTop() {
+		GameBoard board = board();
+		for (int i = 0; i < board.getFieldHeight() - 2; i++) {
+			board.addTrashLine();
+		}
+		board.setRow(0, 0b0000000001L, TYPE);
+		board.addTrashLine();
+		assertDropDistances(board);
+	}
+	
+	/**
+	 * Seeded games with random input, with trash arriving now and then, are
+	 * checked after every placed piece.
+	 */
+	@Test
+	public void duringGames() {
+		GameBoard board = new GameBoard(clock);
+		RandomInput inputs = new RandomInput(SEED);
+		long checked = 0;
+		for (long seed = SEED; seed < SEED + GAMES; seed++) {
+			board.reset(seed);
+			board.start();
+			long pieces = 0;
+			while (board.isRuning()) {
+				clock.advance();
+				board.step(inputs.next(clock.getFrame()));
+				if (board.getStats().getPieces() != pieces) {
+					pieces = board.getStats().getPieces();
+					if (pieces % TRASH_EVERY == 0) {
+						board.incTrashLines(2);
+					}
+					assertDropDistances(board);
+					checked++;
+				}
+			}
+		}
+		assertTrue(checked > GAMES);
+	}
+}
@@ -0,0 +1,115 @@
+package main.gameBoard;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import org.junit.Test;
+
+import main.clock.FrameClock;
+import main.constants.Constants;
+
+public class GameBoardTest {
+	
+	private static final long SEED = 0;
+	
+	private final FrameClock clock = new FrameClock(GameBoard.FPS);
+	
+	private GameBoard started() {
+		GameBoard board = new GameBoard(clock);
+		board.reset(SEED);
+		board.start();
+		return board;
+	}
+	
+	/**
+	 * Row of the controlled tetrad after one frame of a game nobody touched.
+	 */
+	private int untouchedRow() {
+		GameBoard board = started();
+		board.step();
+		return board.getControlling().getYPos();
+	}
+	
+	@Test
+	public void commandsPostedBeforeResetAreNotApplied() {
+		GameBoard board = started();
+		board.keyDown(Input.HARD_DROP);
+		board.keyUp(Input.HARD_DROP);
+		board.togglePause();
+		board.reset(SEED);
+		board.start();
+		board.step();
+		assertFalse(board.isPaused());
+		assertEquals(untouchedRow(), board.getControlling().getYPos());
+	}
+	
+	@Test
+	public void commandsPostedWhileNotRunningAreIgnored() {
+		GameBoard board = new GameBoard(clock);
+		board.reset(SEED);
+		for (int i = 0; i < 1000; i++) {
+			board.keyDown(Input.HARD_DROP);
+			board.keyUp(Input.HARD_DROP);
+			board.togglePause();
+		}
+		board.start();
+		board.step();
+		assertFalse(board.isPaused());
+		assertEquals(untouchedRow(), board.getControlling().getYPos());
+	}
+	
+	@Test
+	public void keysWorkAfterAFullQueueWasThrownAway() {
+		GameBoard board = started();
+		for (int i = 0; i < 1000; i++) {
+			board.togglePause();
+		}
+		board.reset(SEED);
+		board.start();
+		board.keyDown(Input.HARD_DROP);
+		board.step();
+		board.keyUp(Input.HARD_DROP);
+		board.step();
+		assertFalse(board.isPaused());
+		assertEquals(board.getPlacementYPos(), board.getControlling().getYPos());
+	}
+	
+	/**
+	 * Frames from the one the controlled tetrad landed on to the one it was
+	 * placed on, in a game nobody touches.
+	 */
+	private long lockFrames(int lockDelay) {
+		GameBoard board = new GameBoard(clock);
+		board.setTiming(lockDelay, GameBoard.DEFAULT_DAS, GameBoard.DEFAULT_ARR);
+		board.reset(SEED);
+		board.start();
+		// a lock delay of 0 places on the frame the tetrad landed on
+		while (!board.isLocking() && board.getStats().getPieces() == 0) {
+			clock.advance();
+			board.step();
+		}
+		long landed = clock.getFrame();
+		while (board.getStats().getPieces() == 0) {
+			clock.advance();
+			board.step();
+		}
+		return clock.getFrame() - landed;
+	}
+	
+	@Test
+	public void lockDelayIsCountedInFrames() {
+		assertEquals(GameBoard.DEFAULT_LOCK_DELAY, lockFrames(GameBoard.DEFAULT_LOCK_DELAY));
+		assertEquals(1, lockFrames(1));
+		assertEquals(0, lockFrames(0));
+	}
+	
+	@Test
+	public void singlePlayerAfterMultiplayerUsesTheSinglePlayerCurve() {
+		GameBoard board = new GameBoard(clock);
+		board.setOtherPlayer(new GameBoard(clock));
+		assertEquals(Constants.getGravity(Constants.MULTIPLAYER_GRAVITY, 0), board.getGravity());
+		board.reset(SEED);
+		board.setOtherPlayer(null);
+		assertEquals(Constants.getGravity(Constants.SINGLE_PLAYER_GRAVITY, 0), board.getGravity());
+	}
+}
@@ -0,0 +1,74 @@
+package main.gameBoard;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class SnapshotBufferTest {
+	
+	private static final int FRAMES = 1000000;
+	
+	private final SnapshotBuffer buffer = new SnapshotBuffer(GameBoard.DEFAULT_WIDTH, GameBoard.DEFAULT_HEIGHT);
+	
+	private void publish(long frame) {
+		Snapshot back = buffer.back();
+		back.frame = frame;
+		back.score = frame * 2;
+		buffer.publish();
+	}
+	
+	@Test
+	public void readerGetsThePublishedSnapshot() {
+		Snapshot written = buffer.back();
+		publish(1);
+		assertSame(written, buffer.latest());
+		assertEquals(1, buffer.latest().getFrame());
+	}
+	
+	@Test
+	public void readerKeepsItsSnapshotUntilANewerOneIsPublished() {
+		publish(1);
+		Snapshot front = buffer.latest();
+		assertSame(front, buffer.latest());
+		assertNotSame(front, buffer.back());
+		publish(2);
+		assertNotSame(front, buffer.back());
+		assertEquals(2, buffer.latest().getFrame());
+	}
+	
+	@Test
+	public void readerSkipsToTheNewestOfSeveralPublished() {
+		Snapshot front = buffer.latest();
+		for (long frame = 1; frame <= 5; frame++) {
+			assertNotSame(front, buffer.back());
+			publish(frame);
+		}
+		assertEquals(5, buffer.latest().getFrame());
+	}
+	
+	/**
+	 * The writer publishes frames as fast as it can while the reader checks
+	 * that frames only move forward and are never torn.
+	 */
+	@Test
+	public void handsOverWholeFramesBetweenThreads() throws InterruptedException {
+		Thread writer = new Thread(() -> {
+			for (long frame = 1; frame <= FRAMES; frame++) {
+				publish(frame);
+			}
+		});
+		writer.start();
+		long last = 0;
+		while (last < FRAMES) {
+			Snapshot snapshot = buffer.latest();
+			long frame = snapshot.getFrame();
+			assertTrue(frame >= last);
+			assertEquals(frame * 2, snapshot.getScore());
+			last = frame;
+		}
+		writer.join();
+	}
+}
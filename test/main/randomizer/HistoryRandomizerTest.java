@@ -0,0 +1,64 @@
+package main.randomizer;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.SplittableRandom;
+
+import org.junit.Test;
+
+import main.tetrads.ShapeRegistry;
+
+public class HistoryRandomizerTest {
+	
+	private static final int SHAPES = 1000;
+	
+	/**
+	 * The randomizer of the original GameBoard, reset() and getRandomTetrad(),
+	 * drawing from the same generator.
+	 */
+	private static int[] original(long seed, int count) {
+		SplittableRandom rand = new SplittableRandom(seed);
+		int numShapes = ShapeRegistry.size();
+		int left = ShapeRegistry.get("Left_snake").getId();
+		int right = ShapeRegistry.get("Right_snake").getId();
+		int square = ShapeRegistry.get("Square").getId();
+		int[] lastFour = {left, left, right, right};
+		int oldest = 0;
+		int[] shapes = new int[count];
+		do {
+			shapes[0] = rand.nextInt(numShapes);
+		} while (shapes[0] == left || shapes[0] == right || shapes[0] == square);
+		shapes[1] = rand.nextInt(numShapes);
+		for (int i = 2; i < count; i++) {
+			int tetNum = -1;
+			for (int tryNum = 0; tryNum < 4 && tetNum == -1; tryNum++) {
+				int rolled = rand.nextInt(numShapes);
+				boolean contains = false;
+				for (int shape : lastFour) {
+					contains |= shape == rolled;
+				}
+				if (!contains) {
+					tetNum = rolled;
+				}
+			}
+			if (tetNum == -1) {
+				tetNum = rand.nextInt(numShapes);
+			}
+			lastFour[oldest] = tetNum;
+			oldest = (oldest + 1) % lastFour.length;
+			shapes[i] = tetNum;
+		}
+		return shapes;
+	}
+	
+	@Test
+	public void dealsLikeTheOriginalGame() {
+		for (long seed = 0; seed < 100; seed++) {
+			int[] expected = original(seed, SHAPES);
+			Randomizer randomizer = RandomizerType.HISTORY.create(seed);
+			for (int i = 0; i < SHAPES; i++) {
+				assertEquals("seed " + seed + ", shape " + i, expected[i], randomizer.next());
+			}
+		}
+	}
+}
@@ -0,0 +1,88 @@
+package main.stats;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class HistogramTest {
+	
+	/**
+	 * Relative error a percentile may have, one bucket of 32 per power of two.
+	 */
+	private static final double ERROR = 1.0 / 32;
+	private static final int THREADS = 4;
+	private static final int VALUES = 100000;
+	
+	private final Histogram histogram = new Histogram();
+	
+	@Test
+	public void emptyReportsZero() {
+		assertEquals(0, histogram.getCount());
+		assertEquals(0, histogram.getP50());
+		assertEquals(0, histogram.getMax());
+		assertEquals(0, histogram.getMean(), 0);
+	}
+	
+	@Test
+	public void smallValuesAreExact() {
+		for (int value = 0; value < 32; value++) {
+			histogram.record(value);
+		}
+		assertEquals(15, histogram.getP50());
+		assertEquals(31, histogram.getPercentile(100));
+		assertEquals(0, histogram.getPercentile(0));
+	}
+	
+	@Test
+	public void percentilesAreWithinOneBucket() {
+		for (long value = 1; value <= VALUES; value++) {
+			histogram.record(value * 1000);
+		}
+		for (double percentile : new double[] {1, 25, 50, 90, 99, 99.9}) {
+			long expected = (long) Math.ceil(VALUES * percentile / 100) * 1000;
+			long actual = histogram.getPercentile(percentile);
+			assertTrue(percentile + ": " + actual, actual >= expected && actual <= expected * (1 + ERROR));
+		}
+		assertEquals(VALUES * 1000L, histogram.getPercentile(100));
+		assertEquals(VALUES * 1000L, histogram.getMax());
+		assertEquals((VALUES + 1) * 500.0, histogram.getMean(), 1e-6);
+	}
+	
+	@Test
+	public void negativeValuesCountAsZero() {
+		histogram.record(-5);
+		assertEquals(1, histogram.getCount());
+		assertEquals(0, histogram.getMax());
+		assertEquals(0, histogram.getP50());
+	}
+	
+	@Test
+	public void resetForgetsEverything() {
+		histogram.record(1000);
+		histogram.reset();
+		assertEquals(0, histogram.getCount());
+		assertEquals(0, histogram.getMax());
+		histogram.record(7);
+		assertEquals(7, histogram.getP99());
+	}
+	
+	@Test
+	public void countsEveryValueRecordedConcurrently() throws InterruptedException {
+		Thread[] threads = new Thread[THREADS];
+		for (int t = 0; t < THREADS; t++) {
+			long offset = t;
+			threads[t] = new Thread(() -> {
+				for (int i = 0; i < VALUES; i++) {
+					histogram.record(i * THREADS + offset);
+				}
+			});
+			threads[t].start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		assertEquals(THREADS * VALUES, histogram.getCount());
+		assertEquals(THREADS * VALUES - 1, histogram.getMax());
+	}
+}
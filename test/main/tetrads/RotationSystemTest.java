@@ -0,0 +1,140 @@
+package main.tetrads;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+/**
+ * The pieces of Tetrads.xml against the Super Rotation System as it is
+ * usually published: orientations drawn on screen and kick offsets with y
+ * growing upwards.
+ */
+public class RotationSystemTest {
+	
+	private static final String[] STATES = {"0", "R", "2", "L"};
+	private static final String[] NOT_STRAIGHT = {"T_turn", "Gamma", "Alpha", "Right_snake", "Left_snake"};
+	
+	private static final Map<String, int[]> KICKS = new HashMap<String, int[]>();
+	private static final Map<String, int[]> STRAIGHT_KICKS = new HashMap<String, int[]>();
+	static {
+		KICKS.put("0->R", new int[] {0, 0, -1, 0, -1, 1, 0, -2, -1, -2});
+		KICKS.put("R->0", new int[] {0, 0, 1, 0, 1, -1, 0, 2, 1, 2});
+		KICKS.put("R->2", new int[] {0, 0, 1, 0, 1, -1, 0, 2, 1, 2});
+		KICKS.put("2->R", new int[] {0, 0, -1, 0, -1, 1, 0, -2, -1, -2});
+		KICKS.put("2->L", new int[] {0, 0, 1, 0, 1, 1, 0, -2, 1, -2});
+		KICKS.put("L->2", new int[] {0, 0, -1, 0, -1, -1, 0, 2, -1, 2});
+		KICKS.put("L->0", new int[] {0, 0, -1, 0, -1, -1, 0, 2, -1, 2});
+		KICKS.put("0->L", new int[] {0, 0, 1, 0, 1, 1, 0, -2, 1, -2});
+		
+		STRAIGHT_KICKS.put("0->R", new int[] {0, 0, -2, 0, 1, 0, -2, -1, 1, 2});
+		STRAIGHT_KICKS.put("R->0", new int[] {0, 0, 2, 0, -1, 0, 2, 1, -1, -2});
+		STRAIGHT_KICKS.put("R->2", new int[] {0, 0, -1, 0, 2, 0, -1, 2, 2, -1});
+		STRAIGHT_KICKS.put("2->R", new int[] {0, 0, 1, 0, -2, 0, 1, -2, -2, 1});
+		STRAIGHT_KICKS.put("2->L", new int[] {0, 0, 2, 0, -1, 0, 2, 1, -1, -2});
+		STRAIGHT_KICKS.put("L->2", new int[] {0, 0, -2, 0, 1, 0, -2, -1, 1, 2});
+		STRAIGHT_KICKS.put("L->0", new int[] {0, 0, 1, 0, -2, 0, 1, -2, -2, 1});
+		STRAIGHT_KICKS.put("0->L", new int[] {0, 0, -1, 0, 2, 0, -1, 2, 2, -1});
+	}
+	
+	private static final String[][] T_STATES = {
+		{".#.", "###", "..."},
+		{".#.", ".##", ".#."},
+		{"...", "###", ".#."},
+		{".#.", "##.", ".#."}
+	};
+	private static final String[][] STRAIGHT_STATES = {
+		{"....", "####", "....", "...."},
+		{"..#.", "..#.", "..#.", "..#."},
+		{"....", "....", "####", "...."},
+		{".#..", ".#..", ".#..", ".#.."}
+	};
+	
+	/**
+	 * SRS state of the spawn orientation, the spawn_state of Tetrads.xml.
+	 */
+	private static int spawnState(Shape shape) {
+		return shape.getName().equals("Straight") ? 2 : 0;
+	}
+	
+	private static String[] draw(Shape shape, int rotation) {
+		boolean[][] cells = shape.getRotation(rotation);
+		String[] rows = new String[cells.length];
+		for (int row = 0; row < cells.length; row++) {
+			StringBuilder sb = new StringBuilder();
+			for (boolean cell : cells[row]) {
+				sb.append(cell ? '#' : '.');
+			}
+			rows[row] = sb.toString();
+		}
+		return rows;
+	}
+	
+	/**
+	 * Published offsets turned into field coordinates, y growing downwards.
+	 */
+	private static int[] toField(int[] kicks) {
+		int[] field = kicks.clone();
+		for (int i = 1; i < field.length; i += 2) {
+			field[i] = -field[i];
+		}
+		return field;
+	}
+	
+	private static void assertKicks(Shape shape, Map<String, int[]> table) {
+		for (int rotation = 0; rotation < Shape.NUM_ROTATIONS; rotation++) {
+			int state = (rotation + spawnState(shape)) % Shape.NUM_ROTATIONS;
+			// turning left moves the cells clockwise on screen
+			String clockwise = STATES[state] + "->" + STATES[(state + 1) % Shape.NUM_ROTATIONS];
+			String counterClockwise = STATES[state] + "->" + STATES[(state + 3) % Shape.NUM_ROTATIONS];
+			assertArrayEquals(shape + " " + clockwise, toField(table.get(clockwise)), shape.getKicks(RotationSystem.SRS, rotation, true));
+			assertArrayEquals(shape + " " + counterClockwise, toField(table.get(counterClockwise)), shape.getKicks(RotationSystem.SRS, rotation, false));
+		}
+	}
+	
+	private static void assertStates(Shape shape, String[][] states) {
+		for (int rotation = 0; rotation < Shape.NUM_ROTATIONS; rotation++) {
+			int state = (rotation + spawnState(shape)) % Shape.NUM_ROTATIONS;
+			assertEquals(shape + " " + STATES[state], String.join("/", states[state]), String.join("/", draw(shape, rotation)));
+			assertEquals(shape + " " + STATES[state], (rotation + 1) % Shape.NUM_ROTATIONS, shape.getTurned(rotation, true));
+		}
+	}
+	
+	@Test
+	public void rotationsAreTheSrsStates() {
+		assertStates(ShapeRegistry.get("T_turn"), T_STATES);
+		assertStates(ShapeRegistry.get("Straight"), STRAIGHT_STATES);
+	}
+	
+	@Test
+	public void srsKicksMatchTheStandardTables() {
+		for (String name : NOT_STRAIGHT) {
+			assertKicks(ShapeRegistry.get(name), KICKS);
+		}
+		assertKicks(ShapeRegistry.get("Straight"), STRAIGHT_KICKS);
+	}
+	
+	@Test
+	public void classicKicksTryInPlaceThenUpLeftAndRight() {
+		int[] classic = {0, 0, 0, -1, -1, 0, 1, 0};
+		for (int id = 0; id < ShapeRegistry.size(); id++) {
+			Shape shape = ShapeRegistry.get(id);
+			for (int rotation = 0; rotation < Shape.NUM_ROTATIONS; rotation++) {
+				assertArrayEquals(shape + " " + rotation, classic, shape.getKicks(RotationSystem.CLASSIC, rotation, true));
+				assertArrayEquals(shape + " " + rotation, classic, shape.getKicks(RotationSystem.CLASSIC, rotation, false));
+			}
+		}
+	}
+	
+	@Test
+	public void squareIsNeverTurned() {
+		Shape square = ShapeRegistry.get("Square");
+		for (int rotation = 0; rotation < Shape.NUM_ROTATIONS; rotation++) {
+			assertEquals(rotation, square.getTurned(rotation, true));
+			assertEquals(rotation, square.getTurned(rotation, false));
+		}
+	}
+}